@@ -0,0 +1,65 @@
+package com.dam.starwars.benchmark;
+
+import com.dam.starwars.api.dto.FilmDetailResponse;
+import com.dam.starwars.api.dto.FilmResponse;
+import com.dam.starwars.api.mapper.FilmMapper;
+import com.dam.starwars.domain.model.Film;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do mapeamento de {@link Film} para os DTOs da API, um filme e o catálogo inteiro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilmMapperBenchmark {
+
+    @Param({"6", "1000", "100000"})
+    private int catalogSize;
+
+    private final FilmMapper filmMapper = new FilmMapper();
+    private List<Film> films;
+    private Film single;
+
+    @Setup
+    public void setUp() {
+        films = SyntheticCatalog.films(catalogSize);
+        single = films.get(films.size() / 2);
+    }
+
+    @Benchmark
+    public FilmResponse mapSingleFilm() {
+        return filmMapper.toFilmResponse(single);
+    }
+
+    @Benchmark
+    public FilmDetailResponse mapSingleFilmDetail() {
+        return filmMapper.toFilmDetailResponse(single);
+    }
+
+    @Benchmark
+    public List<FilmResponse> mapAllFilms() {
+        List<FilmResponse> responses = new ArrayList<>(films.size());
+        for (Film film : films) {
+            responses.add(filmMapper.toFilmResponse(film));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,83 @@
+package com.dam.starwars.benchmark;
+
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.FilmCatalogSnapshot;
+import com.dam.starwars.domain.model.FilmFilter;
+import com.dam.starwars.domain.model.FilmPage;
+import com.dam.starwars.domain.model.FilmSearchHit;
+import com.dam.starwars.domain.model.FilmSort;
+import com.dam.starwars.domain.service.FilmService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leituras do {@link FilmService}: a cópia da lista em {@code getAllFilms}, o snapshot
+ * pré-serializado, a busca por episódio, as consultas pelos índices secundários e a busca textual.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilmServiceBenchmark {
+
+    @Param({"6", "1000", "100000"})
+    private int catalogSize;
+
+    private FilmService filmService;
+    private int episodeId;
+    private FilmFilter directorAndYear;
+    private FilmFilter producerAndYear;
+
+    @Setup
+    public void setUp() {
+        filmService = SyntheticCatalog.loadedService(SyntheticCatalog.films(catalogSize));
+        episodeId = catalogSize / 2 + 1;
+        directorAndYear = FilmFilter.of("irvin kershner", null, "1980");
+        producerAndYear = FilmFilter.of(null, "Rick McCallum", "2001..2001");
+    }
+
+    @Benchmark
+    public List<Film> getAllFilms() {
+        return filmService.getAllFilms();
+    }
+
+    @Benchmark
+    public FilmCatalogSnapshot getCatalogSnapshot() {
+        return filmService.getCatalogSnapshot();
+    }
+
+    @Benchmark
+    public Film getFilmByEpisode() {
+        return filmService.getFilmByEpisode(episodeId);
+    }
+
+    @Benchmark
+    public List<FilmSearchHit> searchFilms() {
+        // o opening crawl sintético é o mesmo em todos os filmes: todos os documentos casam
+        return filmService.searchFilms("galactic empire victory", 20);
+    }
+
+    @Benchmark
+    public FilmPage queryByDirectorAndYear() {
+        return filmService.getCatalogSnapshot().page(directorAndYear, FilmSort.EPISODE, false, null, 20);
+    }
+
+    @Benchmark
+    public FilmPage queryByProducerAndYearSortedByDate() {
+        return filmService.getCatalogSnapshot().page(producerAndYear, FilmSort.RELEASE_DATE, false, null, 20);
+    }
+}
@@ -0,0 +1,76 @@
+package com.dam.starwars.benchmark;
+
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.FilmCatalogSnapshot;
+import com.dam.starwars.domain.service.FilmService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mistura de leituras e escritas concorrentes no catálogo em memória: três threads
+ * leem enquanto uma atualiza descrições, medindo a vazão de cada lado.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilmStoreConcurrencyBenchmark {
+
+    @Param({"6", "1000", "100000"})
+    private int catalogSize;
+
+    private FilmService filmService;
+
+    @Setup
+    public void setUp() {
+        filmService = SyntheticCatalog.loadedService(SyntheticCatalog.films(catalogSize));
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(3)
+    public Film readFilm() {
+        return filmService.getFilmByEpisode(randomEpisode());
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public Film writeDescription() {
+        return filmService.updateFilmDescription(randomEpisode(), "Descrição " + System.nanoTime());
+    }
+
+    @Benchmark
+    @Group("catalogReadWrite")
+    @GroupThreads(3)
+    public FilmCatalogSnapshot readCatalog() {
+        return filmService.getCatalogSnapshot();
+    }
+
+    @Benchmark
+    @Group("catalogReadWrite")
+    @GroupThreads(1)
+    public Film writeCatalog() {
+        return filmService.updateFilmDescription(randomEpisode(), "Descrição " + System.nanoTime());
+    }
+
+    private int randomEpisode() {
+        return ThreadLocalRandom.current().nextInt(catalogSize) + 1;
+    }
+}
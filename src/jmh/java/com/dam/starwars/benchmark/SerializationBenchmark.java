@@ -0,0 +1,67 @@
+package com.dam.starwars.benchmark;
+
+import com.dam.starwars.api.dto.FilmDetailResponse;
+import com.dam.starwars.api.dto.FilmDetailView;
+import com.dam.starwars.api.dto.FilmResponse;
+import com.dam.starwars.api.mapper.FilmMapper;
+import com.dam.starwars.domain.model.Film;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON completa dos DTOs com o mesmo {@link ObjectMapper} configurado pelo Spring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"6", "1000", "100000"})
+    private int catalogSize;
+
+    private final ObjectMapper objectMapper = SyntheticCatalog.objectMapper();
+    private List<FilmResponse> filmResponses;
+    private FilmDetailResponse filmDetail;
+    private Film film;
+
+    @Setup
+    public void setUp() {
+        FilmMapper filmMapper = new FilmMapper();
+        List<Film> films = SyntheticCatalog.films(catalogSize);
+        filmResponses = films.stream().map(filmMapper::toFilmResponse).toList();
+        film = films.get(films.size() / 2);
+        filmDetail = filmMapper.toFilmDetailResponse(film);
+    }
+
+    @Benchmark
+    public byte[] serializeFilmList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(filmResponses);
+    }
+
+    @Benchmark
+    public byte[] serializeFilmDetail() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(filmDetail);
+    }
+
+    @Benchmark
+    public byte[] serializeFilmDetailView() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new FilmDetailView(film));
+    }
+}
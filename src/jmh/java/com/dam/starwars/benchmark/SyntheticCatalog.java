@@ -0,0 +1,95 @@
+package com.dam.starwars.benchmark;
+
+import com.dam.starwars.api.client.SwapiClient;
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.SwapiResource;
+import com.dam.starwars.domain.repository.DescriptionJournal;
+import com.dam.starwars.domain.repository.FilmSnapshotRepository;
+import com.dam.starwars.domain.service.FilmService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Gera catálogos sintéticos com o formato dos filmes da SWAPI para os benchmarks.
+ * A semente é fixa para que rodadas diferentes meçam exatamente os mesmos dados.
+ */
+final class SyntheticCatalog {
+
+    private static final String CRAWL_LINE = "It is a period of civil war. Rebel spaceships, striking\r\n"
+            + "from a hidden base, have won their first victory\r\nagainst the evil Galactic Empire.\r\n\r\n";
+    private static final String BASE_URL = "https://swapi.dev/api/";
+
+    private SyntheticCatalog() {
+    }
+
+    static List<Film> films(int size) {
+        Random random = new Random(42);
+        List<Film> films = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Film film = new Film("Synthetic Episode " + i, i, CRAWL_LINE.repeat(1 + random.nextInt(4)));
+            film.setDirector(random.nextBoolean() ? "George Lucas" : "Irvin Kershner");
+            film.setProducer("Gary Kurtz, Rick McCallum");
+            film.setReleaseDate(LocalDate.of(1977, 5, 25).plusDays(random.nextInt(20_000)).toString());
+            film.setCharacters(urls("people", 20 + random.nextInt(20), random));
+            film.setPlanets(urls("planets", 3 + random.nextInt(5), random));
+            film.setStarships(urls("starships", 5 + random.nextInt(8), random));
+            film.setVehicles(urls("vehicles", 4 + random.nextInt(6), random));
+            film.setSpecies(urls("species", 5 + random.nextInt(5), random));
+            film.setCreated(LocalDateTime.of(2014, 12, 10, 14, 23, 31));
+            film.setEdited(LocalDateTime.of(2014, 12, 20, 19, 49, 45));
+            film.setUrl(BASE_URL + "films/" + i + "/");
+            films.add(film);
+        }
+        return films;
+    }
+
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    /**
+     * Monta um {@link FilmService} real, sem persistência, já carregado com o catálogo informado.
+     */
+    static FilmService loadedService(List<Film> films) {
+        ObjectMapper objectMapper = objectMapper();
+        SwapiClient swapiClient = new SwapiClient(null, objectMapper, BASE_URL, "films/", 1,
+                1, Duration.ofDays(1), Duration.ofSeconds(5)) {
+            @Override
+            public List<Film> fetchAllFilms() {
+                return films;
+            }
+
+            @Override
+            public CompletableFuture<Map<String, SwapiResource>> prefetchLinkedResources(Collection<Film> ignored) {
+                return CompletableFuture.completedFuture(Map.of());
+            }
+        };
+
+        FilmService service = new FilmService(swapiClient,
+                new FilmSnapshotRepository(Path.of("target/jmh/films.snapshot"), false),
+                new DescriptionJournal(Path.of("target/jmh/descriptions.journal"), false, Long.MAX_VALUE),
+                event -> {
+                });
+        service.loadFilmsIntoMemory();
+        return service;
+    }
+
+    private static List<String> urls(String resource, int count, Random random) {
+        List<String> urls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            urls.add(BASE_URL + resource + "/" + (1 + random.nextInt(90)) + "/");
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,123 @@
+package com.dam.starwars.benchmark;
+
+import com.dam.starwars.StarWarsApiApplication;
+import com.dam.starwars.api.client.SwapiStubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga do web tier com threads de plataforma e com virtual threads. A aplicação sobe de
+ * verdade apontando para uma SWAPI local lenta, e cada requisição de detalhe com {@code ?expand}
+ * espera a SWAPI (cache de recursos desligado). Com mais clientes simultâneos que threads do Tomcat,
+ * o modo de plataforma enfileira as requisições enquanto o modo virtual não. Compare a vazão e o
+ * p0.99 do modo {@code SampleTime} entre os dois valores de {@code threadMode}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class WebTierLoadBenchmark {
+
+    private static final int FILMS = 1000;
+    private static final long UPSTREAM_DELAY_MILLIS = 50;
+
+    @Param({"platform", "virtual"})
+    private String threadMode;
+
+    private SwapiStubServer swapi;
+    private ConfigurableApplicationContext application;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        swapi = new SwapiStubServer();
+        StringJoiner films = new StringJoiner(",", "{\"count\": " + FILMS + ", \"next\": null, \"results\": [", "]}");
+        for (int i = 1; i <= FILMS; i++) {
+            String person = swapi.baseUrl() + "/people/" + i + "/";
+            films.add("{\"title\": \"Synthetic Episode " + i + "\", \"episode_id\": " + i
+                    + ", \"characters\": [\"" + person + "\"]}");
+            swapi.respond("/api/people/" + i + "/", "{\"name\": \"Person " + i + "\", \"url\": \"" + person + "\"}");
+        }
+        swapi.respond("/api/films/", films.toString());
+
+        // argumentos de linha de comando, para valer mais que o application.yaml
+        application = new SpringApplicationBuilder(StarWarsApiApplication.class).run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=200",
+                "--spring.threads.virtual.enabled=" + threadMode.equals("virtual"),
+                "--swapi.base-url=" + swapi.baseUrl(),
+                "--swapi.films-endpoint=/films/",
+                "--swapi.http.version=HTTP_1_1",
+                "--swapi.http.single-flight-ttl=0s",
+                "--swapi.resources.cache.max-size=0",
+                "--swapi.resources.cache.ttl=1ms",
+                "--swapi.resilience.max-concurrent-calls=100000",
+                "--swapi.ingestion.max-in-flight=100000",
+                "--swapi.refresh.interval=0s",
+                "--catalog.snapshot.enabled=false",
+                "--catalog.journal.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.dam.starwars=WARN");
+        int port = ((ServletWebServerApplicationContext) application).getWebServer().getPort();
+        baseUrl = "http://127.0.0.1:" + port;
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        awaitReady();
+        swapi.delay(UPSTREAM_DELAY_MILLIS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+        swapi.close();
+    }
+
+    @Benchmark
+    public int expandedFilmDetail() throws IOException, InterruptedException {
+        int episode = ThreadLocalRandom.current().nextInt(FILMS) + 1;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/films/" + episode + "?expand=characters"))
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void awaitReady() throws Exception {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness")).build();
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Aplicação não ficou pronta a tempo");
+    }
+}
@@ -0,0 +1,93 @@
+package com.dam.starwars.api.client;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Disjuntor das chamadas à SWAPI. Abre depois de {@code failureThreshold} falhas seguidas e recusa
+ * chamadas até passar {@code openDuration}; então deixa passar uma única chamada de teste, que fecha
+ * o circuito se der certo ou o reabre se falhar.
+ * <p>
+ * Cada chamada liberada leva um {@link Permit} com a geração do circuito, que muda toda vez que ele
+ * abre. Resultados de chamadas liberadas antes da abertura chegam com geração antiga e são ignorados:
+ * só a chamada de teste decide se o circuito fecha.
+ */
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    record Permit(long generation, boolean probe) {
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private long generation;
+    private boolean probeInFlight;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return a permissão da chamada, ou {@code null} se o circuito a recusa
+     */
+    synchronized Permit tryAcquire() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return null;
+            }
+            probeInFlight = true;
+            return new Permit(generation, true);
+        }
+        return state == State.CLOSED ? new Permit(generation, false) : null;
+    }
+
+    synchronized void onSuccess(Permit permit) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        if (permit.probe()) {
+            probeInFlight = false;
+            state = State.CLOSED;
+        }
+        if (state == State.CLOSED) {
+            consecutiveFailures = 0;
+        }
+    }
+
+    synchronized void onFailure(Permit permit) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        if (permit.probe()) {
+            probeInFlight = false;
+            open();
+        } else if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    synchronized State state() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        consecutiveFailures = 0;
+        generation++;
+    }
+}
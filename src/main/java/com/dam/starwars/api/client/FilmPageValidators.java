@@ -0,0 +1,25 @@
+package com.dam.starwars.api.client;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * O que sobrou de cada página de filmes já baixada: os validadores HTTP, um hash do corpo e o
+ * necessário para seguir a paginação ({@code count}, {@code next} e tamanho) quando a página volta
+ * sem mudanças.
+ */
+final class FilmPageValidators {
+
+    record Entry(String eTag, String lastModified, int bodyHash, Integer count, String next, int size) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    Entry get(String url) {
+        return entries.get(url);
+    }
+
+    void put(String url, Entry entry) {
+        entries.put(url, entry);
+    }
+}
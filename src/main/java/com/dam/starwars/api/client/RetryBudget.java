@@ -0,0 +1,31 @@
+package com.dam.starwars.api.client;
+
+/**
+ * Limita as novas tentativas a uma fração das chamadas: cada chamada deposita {@code ratio} e cada
+ * nova tentativa gasta um inteiro. O saldo começa cheio e nunca passa de {@code capacity}, então uma
+ * queda da SWAPI consome no máximo uma rajada curta de tentativas antes de cair para a proporção.
+ */
+class RetryBudget {
+
+    private final double ratio;
+    private final double capacity;
+    private double balance;
+
+    RetryBudget(double ratio, int capacity) {
+        this.ratio = ratio;
+        this.capacity = Math.max(0, capacity);
+        this.balance = this.capacity;
+    }
+
+    synchronized void deposit() {
+        balance = Math.min(capacity, balance + ratio);
+    }
+
+    synchronized boolean tryWithdraw() {
+        if (balance < 1) {
+            return false;
+        }
+        balance--;
+        return true;
+    }
+}
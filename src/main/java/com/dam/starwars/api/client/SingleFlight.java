@@ -0,0 +1,83 @@
+package com.dam.starwars.api.client;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Junta chamadas simultâneas com a mesma chave numa só: quem chega enquanto a primeira está em voo
+ * recebe o mesmo resultado, que ainda fica guardado por {@code ttl} depois de concluído. Falhas não
+ * são guardadas, então a próxima chamada tenta de novo.
+ */
+final class SingleFlight<T> {
+
+    private final Map<String, Flight<T>> flights = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    SingleFlight(Duration ttl, LongSupplier nanoClock) {
+        this.ttlNanos = Math.max(0, ttl.toNanos());
+        this.nanoClock = nanoClock;
+    }
+
+    CompletableFuture<T> execute(String key, Supplier<CompletableFuture<T>> call) {
+        long now = nanoClock.getAsLong();
+        Flight<T> flight = flights.compute(key, (ignored, current) ->
+                current != null && current.usableAt(now) ? current : new Flight<>());
+        if (flight.claim()) {
+            start(key, flight, call);
+        }
+        // cópia para que um chamador não consiga completar ou cancelar o resultado dos outros
+        return flight.result.copy();
+    }
+
+    int size() {
+        return flights.size();
+    }
+
+    private void start(String key, Flight<T> flight, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, error) -> {
+            if (error != null || ttlNanos == 0) {
+                flights.remove(key, flight);
+            } else {
+                flight.expiresAt = nanoClock.getAsLong() + ttlNanos;
+                CompletableFuture.delayedExecutor(ttlNanos, TimeUnit.NANOSECONDS)
+                        .execute(() -> flights.remove(key, flight));
+            }
+            if (error != null) {
+                flight.result.completeExceptionally(error);
+            } else {
+                flight.result.complete(value);
+            }
+        });
+    }
+
+    private static final class Flight<T> {
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        boolean claim() {
+            return started.compareAndSet(false, true);
+        }
+
+        boolean usableAt(long now) {
+            if (!result.isDone()) {
+                return true;
+            }
+            return !result.isCompletedExceptionally() && now - expiresAt < 0;
+        }
+    }
+}
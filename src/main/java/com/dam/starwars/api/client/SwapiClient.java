@@ -1,52 +1,236 @@
 package com.dam.starwars.api.client;
 
+import com.dam.starwars.common.exception.SwapiIntegrationException;
 import com.dam.starwars.domain.model.Film;
-import com.dam.starwars.domain.model.SwapiFilm;
+import com.dam.starwars.domain.model.SwapiResource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 @Service
 public class SwapiClient {
 
     private static final Logger logger = LoggerFactory.getLogger(SwapiClient.class);
 
-    private final RestTemplate restTemplate;
+    private final SwapiHttpTransport transport;
+    private final ObjectMapper objectMapper;
     private final String swapiBaseUrl;
     private final String filmsEndpoint;
+    private final int maxInFlight;
+    private final Duration expandTimeout;
+    // W-TinyLFU limitado por tamanho; o futuro fica no cache, então pedidos simultâneos da mesma URL
+    // compartilham uma única chamada
+    private final AsyncCache<String, SwapiResource> resourceCache;
+    private final SwapiIngestionEngine resourceFetcher;
+    private final FilmPageValidators filmPageValidators = new FilmPageValidators();
 
-    public SwapiClient(RestTemplate restTemplate,
+    private volatile Map<Integer, String> quarantinedReleaseDates = Map.of();
+
+    public SwapiClient(SwapiHttpTransport transport,
+                       ObjectMapper objectMapper,
                        @Value("${swapi.base-url}") String swapiBaseUrl,
-                       @Value("${swapi.films-endpoint}") String filmsEndpoint) {
-        this.restTemplate = restTemplate;
+                       @Value("${swapi.films-endpoint}") String filmsEndpoint,
+                       @Value("${swapi.ingestion.max-in-flight:16}") int maxInFlight,
+                       @Value("${swapi.resources.cache.max-size:10000}") long cacheMaxSize,
+                       @Value("${swapi.resources.cache.ttl:1d}") Duration cacheTtl,
+                       @Value("${swapi.resources.expand-timeout:5s}") Duration expandTimeout) {
+        this.transport = transport;
+        this.objectMapper = objectMapper;
         this.swapiBaseUrl = swapiBaseUrl;
         this.filmsEndpoint = filmsEndpoint;
+        this.maxInFlight = maxInFlight;
+        this.expandTimeout = expandTimeout;
+        this.resourceCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .buildAsync();
+        this.resourceFetcher = newEngine(false);
     }
 
+    /**
+     * Todos os filmes da SWAPI. Lista vazia só quando a SWAPI responde sem filmes; falha na chamada,
+     * circuito aberto ou tempo esgotado lançam {@link SwapiIntegrationException}.
+     */
     public List<Film> fetchAllFilms() {
         try {
             String url = swapiBaseUrl + filmsEndpoint;
             logger.info("Buscando filmes da SWAPI: {}", url);
 
-            SwapiFilm response = restTemplate.getForObject(url, SwapiFilm.class);
+            List<Film> films = newEngine(false).fetchFilms(url).join();
+            quarantineMalformedReleaseDates(films, true);
 
-            if (response != null && response.getResults() != null) {
-                logger.info("Encontrados {} filmes na SWAPI", response.getResults().size());
-                return response.getResults();
+            if (!films.isEmpty()) {
+                logger.info("Encontrados {} filmes na SWAPI", films.size());
+                return films;
             }
 
             logger.warn("Resposta vazia da SWAPI");
             return Collections.emptyList();
 
-        } catch (RestClientException e) {
-            logger.error("Erro ao buscar filmes da SWAPI: {}", e.getMessage());
-            return Collections.emptyList();
+        } catch (CompletionException e) {
+            logger.error("Erro ao buscar filmes da SWAPI: {}", SwapiIngestionEngine.rootMessage(e));
+            if (e.getCause() instanceof SwapiIntegrationException integrationException) {
+                throw integrationException;
+            }
+            throw new SwapiIntegrationException("Erro ao buscar filmes da SWAPI", e.getCause());
+        }
+    }
+
+    /**
+     * Filmes das páginas da SWAPI que mudaram desde a última busca, usando requisições condicionais.
+     * Lista vazia quando nada mudou. Falhas lançam {@link SwapiIntegrationException}.
+     */
+    public List<Film> fetchChangedFilms() {
+        try {
+            List<Film> films = newEngine(true).fetchFilms(swapiBaseUrl + filmsEndpoint).join();
+            quarantineMalformedReleaseDates(films, false);
+            return films;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SwapiIntegrationException integrationException) {
+                throw integrationException;
+            }
+            throw new SwapiIntegrationException("Erro ao atualizar filmes da SWAPI", e.getCause());
         }
     }
+
+    /**
+     * Aquece o cache com os recursos vinculados dos filmes, sem bloquear quem chama. Falhas
+     * são só registradas: o {@code ?expand=} busca de novo o que não entrou no cache.
+     */
+    public CompletableFuture<Map<String, SwapiResource>> prefetchLinkedResources(Collection<Film> films) {
+        Set<String> urls = new LinkedHashSet<>();
+        for (Film film : films) {
+            Stream.of(film.getCharacters(), film.getPlanets(), film.getStarships(),
+                            film.getVehicles(), film.getSpecies())
+                    .filter(Objects::nonNull)
+                    .forEach(urls::addAll);
+        }
+
+        if (urls.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        logger.info("Resolvendo {} recursos vinculados da SWAPI em segundo plano", urls.size());
+        return fetchResources(urls, null).whenComplete((resources, error) -> {
+            if (error != null) {
+                logger.warn("Falha ao aquecer o cache de recursos vinculados: {}",
+                        SwapiIngestionEngine.rootMessage(error));
+            } else {
+                logger.info("Resolvidos {} de {} recursos vinculados", resources.size(), urls.size());
+            }
+        });
+    }
+
+    /**
+     * Resolve os recursos pelo cache, buscando na SWAPI só os que faltam. Espera no máximo
+     * {@code swapi.resources.expand-timeout}: o que não chegar a tempo fica de fora da resposta,
+     * mas continua sendo buscado e entra no cache.
+     */
+    public Map<String, SwapiResource> resolveResources(Collection<String> urls) {
+        return resolveResourcesAsync(urls).join();
+    }
+
+    /**
+     * Mesmo que {@link #resolveResources(Collection)}, sem bloquear a thread que chama.
+     */
+    public CompletableFuture<Map<String, SwapiResource>> resolveResourcesAsync(Collection<String> urls) {
+        return fetchResources(urls, expandTimeout);
+    }
+
+    /**
+     * Recursos que já estão no cache, sem ir à SWAPI nem esperar buscas em andamento.
+     */
+    public Map<String, SwapiResource> getCachedResources(Collection<String> urls) {
+        Map<String, SwapiResource> resources = new LinkedHashMap<>();
+        for (String url : urls) {
+            CompletableFuture<SwapiResource> cached = resourceCache.getIfPresent(url);
+            if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+                SwapiResource resource = cached.join();
+                if (resource != null) {
+                    resources.put(url, resource);
+                }
+            }
+        }
+        return resources;
+    }
+
+    /**
+     * Estado do disjuntor das chamadas à SWAPI: CLOSED, OPEN ou HALF_OPEN.
+     */
+    public String getCircuitState() {
+        return transport.circuitState();
+    }
+
+    /**
+     * Datas de lançamento rejeitadas na última carga, por episódio, com o valor recebido da SWAPI.
+     */
+    public Map<Integer, String> getQuarantinedReleaseDates() {
+        return quarantinedReleaseDates;
+    }
+
+    private void quarantineMalformedReleaseDates(List<Film> films, boolean fullCatalog) {
+        Map<Integer, String> quarantined = new LinkedHashMap<>(fullCatalog ? Map.of() : quarantinedReleaseDates);
+        for (Film film : films) {
+            quarantined.remove(film.getEpisodeId());
+            if (film.hasMalformedReleaseDate()) {
+                logger.warn("Data de lançamento inválida para o episódio {}: '{}'; o filme será servido sem data",
+                        film.getEpisodeId(), film.getReleaseDate());
+                quarantined.put(film.getEpisodeId(), film.getReleaseDate());
+                film.setReleaseDate(null);
+            }
+        }
+        quarantinedReleaseDates = Collections.unmodifiableMap(quarantined);
+    }
+
+    private CompletableFuture<Map<String, SwapiResource>> fetchResources(Collection<String> urls, Duration timeout) {
+        Map<String, CompletableFuture<SwapiResource>> fetches = new LinkedHashMap<>();
+        for (String url : urls) {
+            fetches.computeIfAbsent(url, key -> {
+                CompletableFuture<SwapiResource> fetch = resourceCache
+                        .get(key, (missing, executor) -> resourceFetcher.fetchResource(missing))
+                        .handle((resource, error) -> {
+                            if (error != null) {
+                                logger.warn("Não foi possível resolver o recurso {}: {}", key,
+                                        SwapiIngestionEngine.rootMessage(error));
+                            }
+                            return resource;
+                        });
+                return timeout != null ? fetch.completeOnTimeout(null, timeout.toMillis(), TimeUnit.MILLISECONDS) : fetch;
+            });
+        }
+
+        return CompletableFuture.allOf(fetches.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<String, SwapiResource> resources = new LinkedHashMap<>();
+                    fetches.forEach((url, fetch) -> {
+                        SwapiResource resource = fetch.join();
+                        if (resource != null) {
+                            resources.put(url, resource);
+                        }
+                    });
+                    return resources;
+                });
+    }
+
+    private SwapiIngestionEngine newEngine(boolean conditional) {
+        return new SwapiIngestionEngine(transport, objectMapper, maxInFlight, filmPageValidators, conditional);
+    }
 }
@@ -0,0 +1,147 @@
+package com.dam.starwars.api.client;
+
+import com.dam.starwars.common.exception.SwapiIntegrationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Faz os GETs na SWAPI com o {@link HttpClient} compartilhado (conexões persistentes, HTTP/2 quando
+ * o servidor aceita). Cada chamada tem tempo limite até os headers ({@code swapi.http.read-timeout})
+ * e para a resposta inteira ({@code swapi.http.total-timeout}), pede o corpo em gzip e passa pelas
+ * proteções de {@link SwapiResilience}.
+ */
+@Component
+public class SwapiHttpTransport {
+
+    private final HttpClient httpClient;
+    private final SwapiResilience resilience;
+    private final SingleFlight<Response> singleFlight;
+    private final Duration readTimeout;
+    private final Duration totalTimeout;
+    private final boolean compression;
+
+    public SwapiHttpTransport(HttpClient swapiHttpClient,
+                              SwapiResilience resilience,
+                              @Value("${swapi.http.read-timeout:10s}") Duration readTimeout,
+                              @Value("${swapi.http.total-timeout:30s}") Duration totalTimeout,
+                              @Value("${swapi.http.compression:true}") boolean compression,
+                              @Value("${swapi.http.single-flight-ttl:1s}") Duration singleFlightTtl) {
+        this.httpClient = swapiHttpClient;
+        this.resilience = resilience;
+        this.readTimeout = readTimeout;
+        this.totalTimeout = totalTimeout;
+        this.compression = compression;
+        this.singleFlight = new SingleFlight<>(singleFlightTtl, System::nanoTime);
+    }
+
+    /**
+     * Corpo da resposta já descompactado. Falha com {@link SwapiIntegrationException} para status
+     * diferente de 2xx ou tempo esgotado, depois das novas tentativas de {@link SwapiResilience}.
+     */
+    public CompletableFuture<byte[]> get(String url) {
+        return getIfChanged(url, null, null).thenApply(Response::body);
+    }
+
+    /**
+     * GET condicional: envia {@code If-None-Match} e {@code If-Modified-Since} com os validadores da
+     * resposta anterior, quando houver. Um 304 volta como {@link Response#notModified()}. Pedidos
+     * simultâneos da mesma URL com os mesmos validadores dividem uma só chamada, e a resposta é
+     * reaproveitada por {@code swapi.http.single-flight-ttl}.
+     */
+    public CompletableFuture<Response> getIfChanged(String url, String eTag, String lastModified) {
+        return singleFlight.execute(url + '\n' + eTag + '\n' + lastModified,
+                () -> resilience.call(url, () -> send(url, eTag, lastModified)));
+    }
+
+    public String circuitState() {
+        return resilience.circuitState();
+    }
+
+    private CompletableFuture<Response> send(String url, String eTag, String lastModified) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(readTimeout)
+                .header("Accept", "application/json")
+                .GET();
+        if (compression) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        if (eTag != null) {
+            request.header("If-None-Match", eTag);
+        }
+        if (lastModified != null) {
+            request.header("If-Modified-Since", lastModified);
+        }
+
+        CompletableFuture<HttpResponse<byte[]>> exchange =
+                httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        // o orTimeout só completa a cópia: cancelar a troca original é o que solta a conexão e o corpo
+        return exchange.copy()
+                .orTimeout(totalTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        exchange.cancel(true);
+                    }
+                })
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw failure(url, error);
+                    }
+                    String responseETag = response.headers().firstValue("ETag").orElse(eTag);
+                    String responseLastModified = response.headers().firstValue("Last-Modified").orElse(lastModified);
+                    if (response.statusCode() == 304) {
+                        return new Response(null, responseETag, responseLastModified);
+                    }
+                    if (response.statusCode() / 100 != 2) {
+                        throw new SwapiStatusException(response.statusCode(), url);
+                    }
+                    return new Response(decode(url, response), responseETag, responseLastModified);
+                });
+    }
+
+    private static byte[] decode(String url, HttpResponse<byte[]> response) {
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+                .map("gzip"::equalsIgnoreCase)
+                .orElse(false);
+        if (!gzip) {
+            return response.body();
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new SwapiIntegrationException("Resposta gzip inválida da SWAPI para " + url, e);
+        }
+    }
+
+    private static RuntimeException failure(String url, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpTimeoutException || cause instanceof TimeoutException) {
+            return new SwapiIntegrationException("Tempo esgotado na chamada à SWAPI para " + url, cause);
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+    }
+
+    /**
+     * Corpo da resposta (nulo para 304) e os validadores a mandar na próxima chamada à mesma URL.
+     */
+    public record Response(byte[] body, String eTag, String lastModified) {
+
+        public boolean notModified() {
+            return body == null;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.dam.starwars.api.client;
+
+import com.dam.starwars.common.exception.SwapiIntegrationException;
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.SwapiFilm;
+import com.dam.starwars.domain.model.SwapiResource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Executa uma rodada de ingestão contra a SWAPI usando chamadas assíncronas.
+ * Cada instância limita o número de requisições em voo e deduplica URLs
+ * repetidas, por isso deve ser criada por rodada de carga. A exceção é
+ * {@link #fetchResource(String)}, que não guarda a requisição e pode ser usado
+ * por uma instância de longa duração.
+ */
+class SwapiIngestionEngine {
+
+    private final SwapiHttpTransport transport;
+    private final ObjectMapper objectMapper;
+    private final FilmPageValidators pageValidators;
+    private final boolean conditional;
+    private final Semaphore permits;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final Map<String, CompletableFuture<?>> requests = new ConcurrentHashMap<>();
+
+    SwapiIngestionEngine(SwapiHttpTransport transport, ObjectMapper objectMapper, int maxInFlight,
+                         FilmPageValidators pageValidators, boolean conditional) {
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.pageValidators = pageValidators;
+        this.conditional = conditional;
+        this.permits = new Semaphore(Math.max(1, maxInFlight));
+    }
+
+    /**
+     * Todos os filmes, seguindo a paginação. No modo condicional, as páginas que não mudaram desde
+     * a última busca não são baixadas de novo (304) nem desserializadas (mesmo hash de corpo) e não
+     * contribuem com filmes: o resultado traz só os filmes das páginas alteradas.
+     */
+    CompletableFuture<List<Film>> fetchFilms(String url) {
+        return getPage(url).thenCompose(firstPage -> {
+            if (firstPage.next() == null || firstPage.size() == 0) {
+                return CompletableFuture.completedFuture(firstPage.films());
+            }
+
+            List<CompletableFuture<List<Film>>> pages = new ArrayList<>();
+            pages.add(CompletableFuture.completedFuture(firstPage.films()));
+            if (firstPage.count() != null) {
+                int totalPages = (firstPage.count() + firstPage.size() - 1) / firstPage.size();
+                for (int page = 2; page <= totalPages; page++) {
+                    pages.add(getPage(pageUrl(url, page)).thenApply(Page::films));
+                }
+            } else {
+                pages.add(fetchFilms(firstPage.next()));
+            }
+
+            return CompletableFuture.allOf(pages.toArray(CompletableFuture[]::new))
+                    .thenApply(ignored -> pages.stream()
+                            .flatMap(page -> page.join().stream())
+                            .toList());
+        });
+    }
+
+    CompletableFuture<SwapiResource> fetchResource(String url) {
+        return submit(() -> send(url, SwapiResource.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Page> getPage(String url) {
+        return (CompletableFuture<Page>) requests.computeIfAbsent(url, key -> submit(() -> sendPage(key)));
+    }
+
+    private CompletableFuture<Page> sendPage(String url) {
+        FilmPageValidators.Entry previous = pageValidators.get(url);
+        boolean sendValidators = conditional && previous != null;
+        return transport.getIfChanged(url, sendValidators ? previous.eTag() : null,
+                        sendValidators ? previous.lastModified() : null)
+                .thenApply(response -> {
+                    if (response.notModified()) {
+                        return new Page(previous.count(), previous.next(), previous.size(), List.of());
+                    }
+                    int bodyHash = Arrays.hashCode(response.body());
+                    if (conditional && previous != null && previous.bodyHash() == bodyHash) {
+                        // servidor sem validadores, mas a página é a mesma
+                        return new Page(previous.count(), previous.next(), previous.size(), List.of());
+                    }
+
+                    SwapiFilm page = parse(url, response.body(), SwapiFilm.class);
+                    List<Film> films = page != null && page.getResults() != null ? page.getResults() : List.of();
+                    Integer count = page != null ? page.getCount() : null;
+                    String next = page != null ? page.getNext() : null;
+                    pageValidators.put(url, new FilmPageValidators.Entry(response.eTag(), response.lastModified(),
+                            bodyHash, count, next, films.size()));
+                    return new Page(count, next, films.size(), films);
+                });
+    }
+
+    private <T> CompletableFuture<T> send(String url, Class<T> type) {
+        return transport.get(url).thenApply(body -> parse(url, body, type));
+    }
+
+    private <T> T parse(String url, byte[] body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new SwapiIntegrationException("Resposta inválida da SWAPI para " + url, e);
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        pending.add(() -> {
+            CompletableFuture<T> call;
+            try {
+                call = task.get();
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenComplete((value, error) -> {
+                permits.release();
+                drain();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        drain();
+        return result;
+    }
+
+    private void drain() {
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            Runnable next = pending.poll();
+            if (next == null) {
+                permits.release();
+                return;
+            }
+            next.run();
+        }
+    }
+
+    private record Page(Integer count, String next, int size, List<Film> films) {
+    }
+
+    private static String pageUrl(String url, int page) {
+        return url + (url.contains("?") ? "&" : "?") + "page=" + page;
+    }
+
+    static String rootMessage(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
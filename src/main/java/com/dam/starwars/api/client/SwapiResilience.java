@@ -0,0 +1,113 @@
+package com.dam.starwars.api.client;
+
+import com.dam.starwars.common.exception.SwapiUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Proteções em volta de cada chamada à SWAPI: limite de chamadas simultâneas (bulkhead), disjuntor e
+ * novas tentativas com backoff exponencial com jitter, limitadas por um {@link RetryBudget}.
+ * Chamadas recusadas pelo bulkhead ou pelo circuito aberto falham na hora com
+ * {@link SwapiUnavailableException}, sem esperar a rede.
+ */
+@Component
+public class SwapiResilience {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwapiResilience.class);
+
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final RetryBudget retryBudget;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+
+    public SwapiResilience(@Value("${swapi.resilience.failure-threshold:5}") int failureThreshold,
+                           @Value("${swapi.resilience.open-duration:30s}") Duration openDuration,
+                           @Value("${swapi.resilience.max-concurrent-calls:64}") int maxConcurrentCalls,
+                           @Value("${swapi.resilience.max-retries:2}") int maxRetries,
+                           @Value("${swapi.resilience.retry-backoff:200ms}") Duration retryBackoff,
+                           @Value("${swapi.resilience.retry-budget.ratio:0.2}") double retryRatio,
+                           @Value("${swapi.resilience.retry-budget.capacity:10}") int retryCapacity) {
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration, System::nanoTime);
+        this.maxConcurrentCalls = Math.max(1, maxConcurrentCalls);
+        this.bulkhead = new Semaphore(this.maxConcurrentCalls);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoff = retryBackoff;
+        this.retryBudget = new RetryBudget(retryRatio, retryCapacity);
+    }
+
+    public <T> CompletableFuture<T> call(String url, Supplier<CompletableFuture<T>> call) {
+        retryBudget.deposit();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(url, call, 0, result);
+        return result;
+    }
+
+    public String circuitState() {
+        return circuitBreaker.state().name();
+    }
+
+    private <T> void attempt(String url, Supplier<CompletableFuture<T>> call, int retry, CompletableFuture<T> result) {
+        if (!bulkhead.tryAcquire()) {
+            result.completeExceptionally(new SwapiUnavailableException(
+                    "Limite de " + maxConcurrentCalls + " chamadas simultâneas à SWAPI atingido; " + url + " recusada"));
+            return;
+        }
+        CircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (permit == null) {
+            bulkhead.release();
+            result.completeExceptionally(new SwapiUnavailableException("Circuito da SWAPI aberto; " + url + " recusada"));
+            return;
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((value, error) -> {
+            bulkhead.release();
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause == null || !isUpstreamFailure(cause)) {
+                // 4xx também prova que a SWAPI está respondendo
+                circuitBreaker.onSuccess(permit);
+                if (cause == null) {
+                    result.complete(value);
+                } else {
+                    result.completeExceptionally(cause);
+                }
+                return;
+            }
+
+            circuitBreaker.onFailure(permit);
+            if (retry < maxRetries && retryBudget.tryWithdraw()) {
+                // jitter completo: espera aleatória entre zero e o backoff exponencial da tentativa
+                long delay = 1 + ThreadLocalRandom.current().nextLong(Math.max(1, retryBackoff.toMillis() << retry));
+                logger.debug("Nova tentativa {} para {} em {} ms: {}", retry + 1, url, delay, cause.getMessage());
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                        .execute(() -> attempt(url, call, retry + 1, result));
+            } else {
+                result.completeExceptionally(cause);
+            }
+        });
+    }
+
+    private static boolean isUpstreamFailure(Throwable cause) {
+        if (cause instanceof SwapiStatusException statusException) {
+            return statusException.status() >= 500 || statusException.status() == 429;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+package com.dam.starwars.api.client;
+
+import com.dam.starwars.common.exception.SwapiIntegrationException;
+
+/**
+ * A SWAPI respondeu com status diferente de 2xx.
+ */
+class SwapiStatusException extends SwapiIntegrationException {
+
+    private final int status;
+
+    SwapiStatusException(int status, String url) {
+        super("SWAPI respondeu " + status + " para " + url);
+        this.status = status;
+    }
+
+    int status() {
+        return status;
+    }
+}
@@ -0,0 +1,37 @@
+package com.dam.starwars.api.controller;
+
+import com.dam.starwars.domain.model.CatalogFreshness;
+import com.dam.starwars.domain.service.FilmService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Informa em toda resposta de {@code /api/films} se o catálogo está velho ({@code X-Catalog-Stale})
+ * e quando foi sincronizado com a SWAPI pela última vez ({@code X-Catalog-Synced-At}).
+ */
+@Component
+public class CatalogFreshnessInterceptor implements HandlerInterceptor {
+
+    static final String STALE_HEADER = "X-Catalog-Stale";
+    static final String SYNCED_AT_HEADER = "X-Catalog-Synced-At";
+
+    private final FilmService filmService;
+
+    public CatalogFreshnessInterceptor(FilmService filmService) {
+        this.filmService = filmService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        CatalogFreshness freshness = filmService.getCatalogFreshness();
+        if (freshness != null) {
+            response.setHeader(STALE_HEADER, String.valueOf(freshness.stale()));
+            if (freshness.lastSyncedAt() != null) {
+                response.setDateHeader(SYNCED_AT_HEADER, freshness.lastSyncedAt().toEpochMilli());
+            }
+        }
+        return true;
+    }
+}
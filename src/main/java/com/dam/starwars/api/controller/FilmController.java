@@ -1,84 +1,254 @@
 package com.dam.starwars.api.controller;
 
+import com.dam.starwars.api.dto.BulkUpdateDescriptionRequest;
+import com.dam.starwars.api.dto.BulkUpdateDescriptionResponse;
 import com.dam.starwars.api.dto.FilmDetailResponse;
+import com.dam.starwars.api.dto.FilmDetailView;
+import com.dam.starwars.api.dto.FilmProjectionView;
 import com.dam.starwars.api.dto.FilmResponse;
+import com.dam.starwars.api.dto.FilmSearchHitResponse;
 import com.dam.starwars.api.dto.UpdateDescriptionRequest;
+import com.dam.starwars.api.mapper.FilmCatalogRenderer;
+import com.dam.starwars.api.mapper.FilmDetailSerializer;
 import com.dam.starwars.api.mapper.FilmMapper;
+import com.dam.starwars.api.mapper.FilmProjectionSerializer;
+import com.dam.starwars.common.exception.InvalidQueryException;
+import com.dam.starwars.domain.model.DescriptionUpdateResult;
 import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.FilmCatalogSnapshot;
+import com.dam.starwars.domain.model.FilmCursor;
+import com.dam.starwars.domain.model.FilmFilter;
+import com.dam.starwars.domain.model.FilmPage;
+import com.dam.starwars.domain.model.FilmSort;
+import com.dam.starwars.domain.model.SwapiResource;
 import com.dam.starwars.domain.service.FilmService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Tag(name = "Films", description = "Operações relacionadas aos filmes Star Wars")
 @RestController
 @RequestMapping("/api/films")
 public class FilmController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final FilmService filmService;
     private final FilmMapper filmMapper;
+    private final FilmCatalogRenderer catalogRenderer;
 
 
-    public FilmController(FilmService filmService, FilmMapper filmMapper) {
+    public FilmController(FilmService filmService, FilmMapper filmMapper, FilmCatalogRenderer catalogRenderer) {
         this.filmService = filmService;
         this.filmMapper = filmMapper;
+        this.catalogRenderer = catalogRenderer;
     }
 
-    @Operation(summary = "Lista todos os filmes", description = "Retorna a lista completa de filmes da saga Star Wars")
-    @ApiResponse(responseCode = "200", description = "Lista de filmes retornada com sucesso")
+    @Operation(summary = "Lista todos os filmes", description = "Retorna a lista de filmes da saga Star Wars, "
+            + "opcionalmente filtrada por diretor, produtor e ano, ordenada, paginada por cursor e com projeção de campos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de filmes retornada com sucesso",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = FilmResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "Catálogo não modificado desde a última consulta"),
+            @ApiResponse(responseCode = "400", description = "Filtro, ordenação, cursor, limite ou campos inválidos")
+    })
     @GetMapping
-    public ResponseEntity<List<FilmResponse>> getAllFilms() {
-        List<Film> films = filmService.getAllFilms();
-        List<FilmResponse> filmResponses = films.stream()
-                .map(filmMapper::toFilmResponse)
-                .toList();
-        return ResponseEntity.ok(filmResponses);
+    public ResponseEntity<?> getAllFilms(
+            WebRequest webRequest,
+            @Parameter(description = "Termos que devem constar no diretor", example = "George Lucas")
+            @RequestParam(required = false) String director,
+            @Parameter(description = "Termos que devem constar no produtor", example = "Rick McCallum")
+            @RequestParam(required = false) String producer,
+            @Parameter(description = "Ano de lançamento ou intervalo fechado de anos", example = "1977..1983")
+            @RequestParam(required = false) String year,
+            @Parameter(description = "Ordenação: episode, release_date ou lastModified; prefixo '-' para decrescente",
+                    example = "-release_date")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Cursor devolvido no cabeçalho Link da página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de filmes na página (1 a " + MAX_PAGE_SIZE + ")", example = "20")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Campos a incluir, separados por vírgula", example = "title,episode_id")
+            @RequestParam(required = false) String fields) {
+        FilmCatalogSnapshot snapshot = filmService.getCatalogSnapshot();
+        if (director == null && producer == null && year == null
+                && sort == null && cursor == null && limit == null && fields == null) {
+            if (webRequest.checkNotModified(snapshot.eTag(), snapshot.lastModified())) {
+                return null;
+            }
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(catalogRenderer.render(snapshot));
+        }
+
+        FilmFilter filter = FilmFilter.of(director, producer, year);
+        FilmCursor after = cursor != null ? FilmCursor.decode(cursor) : null;
+        boolean descending = sort != null ? sort.startsWith("-") : after != null && after.descending();
+        FilmSort filmSort = sort != null ? FilmSort.fromParameter(descending ? sort.substring(1) : sort)
+                : after != null ? after.sort() : FilmSort.EPISODE;
+        validateLimit(limit);
+        Set<String> projection = fields != null ? FilmProjectionSerializer.parseFields(fields) : null;
+
+        String eTag = snapshot.eTag(
+                Integer.toHexString(Objects.hash(filter, filmSort, descending, cursor, limit, projection)));
+        if (webRequest.checkNotModified(eTag, snapshot.lastModified())) {
+            return null;
+        }
+
+        FilmPage page = snapshot.page(filter, filmSort, descending, after, limit != null ? limit : Integer.MAX_VALUE);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (page.nextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.nextCursor())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                    .header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return projection != null
+                ? response.body(new FilmProjectionView(page.films(), projection))
+                : response.body(filmMapper.toFilmResponses(page.films()));
     }
 
-    @Operation(summary = "Busca filme por episódio", description = "Retorna detalhes de um filme específico pelo ID do episódio")
+    @Operation(summary = "Busca textual de filmes",
+            description = "Procura os termos no título, no opening crawl e na descrição personalizada, "
+                    + "ordenando os filmes por relevância (BM25)")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Filme encontrado"),
+            @ApiResponse(responseCode = "200", description = "Filmes encontrados, do mais para o menos relevante"),
+            @ApiResponse(responseCode = "400", description = "Consulta vazia ou limite inválido")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<FilmSearchHitResponse>> searchFilms(
+            @Parameter(description = "Termos da busca", example = "Death Star")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Quantidade máxima de resultados (1 a " + MAX_PAGE_SIZE + ")", example = "20")
+            @RequestParam(required = false) Integer limit) {
+        if (q == null || q.isBlank()) {
+            throw new InvalidQueryException("Informe os termos da busca no parâmetro q");
+        }
+        validateLimit(limit);
+
+        return ResponseEntity.ok(filmService.searchFilms(q, limit != null ? limit : DEFAULT_SEARCH_LIMIT).stream()
+                .map(filmMapper::toFilmSearchHitResponse)
+                .toList());
+    }
+
+    @Operation(summary = "Busca filme por episódio", description = "Retorna detalhes de um filme específico pelo ID do "
+            + "episódio; com expand, as listas de recursos indicadas saem com nome e URL")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Filme encontrado",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = FilmDetailResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Filme não modificado desde a última consulta"),
+            @ApiResponse(responseCode = "400", description = "Campo de expand inválido"),
             @ApiResponse(responseCode = "404", description = "Filme não encontrado")
     })
     @GetMapping("/{episodeId}")
-    public ResponseEntity<FilmDetailResponse> getFilmDetails(
+    public ResponseEntity<FilmDetailView> getFilmDetails(
             @Parameter(description = "ID do episódio do filme", example = "4")
-            @PathVariable Integer episodeId
+            @PathVariable Integer episodeId,
+            @Parameter(description = "Listas a resolver: characters, planets, starships, vehicles e species",
+                    example = "characters,planets")
+            @RequestParam(required = false) String expand,
+            WebRequest webRequest
     ) {
+        Set<String> expandFields = expand != null ? FilmDetailSerializer.parseExpand(expand) : Set.of();
         Film film = filmService.getFilmByEpisode(episodeId);
-        FilmDetailResponse filmDetailResponse = filmMapper.toFilmDetailResponse(film);
+        if (expandFields.isEmpty()) {
+            if (webRequest.checkNotModified(film.getETag(), film.getLastModifiedMillis())) {
+                return null;
+            }
+            return ResponseEntity.ok(new FilmDetailView(film));
+        }
 
-        return ResponseEntity.ok(filmDetailResponse);
+        Set<String> urls = FilmDetailSerializer.linkedUrls(film, expandFields);
+        // resposta com recursos faltando não recebe ETag, para o cliente não guardar a versão incompleta.
+        // Por isso uma tag que casa sempre aponta uma versão completa, e o 304 sai sem resolver nada
+        Map<String, SwapiResource> resources = filmService.getCachedLinkedResources(urls);
+        boolean cached = resources.keySet().containsAll(urls);
+        if ((cached || matchesIfNoneMatch(webRequest.getHeader(HttpHeaders.IF_NONE_MATCH), film.getETag()))
+                && webRequest.checkNotModified(film.getETag(), film.getLastModifiedMillis())) {
+            return null;
+        }
+        if (!cached) {
+            resources = filmService.resolveLinkedResources(urls);
+            if (resources.keySet().containsAll(urls)
+                    && webRequest.checkNotModified(film.getETag(), film.getLastModifiedMillis())) {
+                return null;
+            }
+        }
+        return ResponseEntity.ok(new FilmDetailView(film, expandFields, resources));
     }
 
     @Operation(summary = "Atualiza descrição do filme", description = "Altera a descrição de um filme e incrementa sua versão")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Descrição atualizada com sucesso"),
-            @ApiResponse(responseCode = "400", description = "Dados inválidos"),
-            @ApiResponse(responseCode = "404", description = "Filme não encontrado")
+            @ApiResponse(responseCode = "200", description = "Descrição atualizada com sucesso",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = FilmDetailResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos ou If-Match malformado"),
+            @ApiResponse(responseCode = "404", description = "Filme não encontrado"),
+            @ApiResponse(responseCode = "412", description = "Nenhum ETag forte do If-Match é o atual")
     })
     @PutMapping("/{episodeId}/description")
-    public ResponseEntity<FilmDetailResponse> updateFilmDescription(
+    public ResponseEntity<FilmDetailView> updateFilmDescription(
             @Parameter(description = "ID do episódio do filme", example = "4")
             @PathVariable Integer episodeId,
+            @Parameter(description = "ETag atual do filme, ou lista de ETags separados por vírgula", example = "\"4-1-0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Nova descrição do filme")
             @Valid @RequestBody UpdateDescriptionRequest request) {
 
-        Film updatedFilm = filmService.updateFilmDescription(episodeId, request.description());
-        FilmDetailResponse updatedFilmResponse = filmMapper.toFilmDetailResponse(updatedFilm);
-        return ResponseEntity.ok(updatedFilmResponse);
+        List<String> eTags = parseIfMatch(ifMatch);
+        Film updatedFilm = eTags != null
+                ? filmService.updateFilmDescriptionIfMatch(episodeId, request.description(), eTags)
+                : filmService.updateFilmDescription(episodeId, request.description(), null);
+        return ResponseEntity.ok()
+                .eTag(updatedFilm.getETag())
+                .body(new FilmDetailView(updatedFilm));
+    }
+
+    @Operation(summary = "Atualiza descrições em lote",
+            description = "Aplica várias atualizações de descrição de uma só vez e informa o resultado de cada uma")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado; verifique o resultado de cada item"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos")
+    })
+    @PutMapping("/descriptions")
+    public ResponseEntity<BulkUpdateDescriptionResponse> updateFilmDescriptions(
+            @Parameter(description = "Atualizações de descrição")
+            @Valid @RequestBody BulkUpdateDescriptionRequest request) {
+
+        List<DescriptionUpdateResult> results = filmService.updateFilmDescriptions(
+                filmMapper.toDescriptionUpdates(request));
+        return ResponseEntity.ok(filmMapper.toBulkUpdateDescriptionResponse(results));
     }
 
     @Operation(summary = "Status da API", description = "Retorna informações sobre o status da API")
@@ -89,4 +259,62 @@ public class FilmController {
 
         return ResponseEntity.ok(String.format("API Star Wars funcionando. Filmes carregados: %d", totalFilms));
     }
+
+    private static void validateLimit(Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new InvalidQueryException("limit deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Diz se o If-None-Match traz o ETag atual, com a comparação fraca que vale para esse cabeçalho.
+     */
+    static boolean matchesIfNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*") || (trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed).equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lê o If-Match como {@code *} ou uma lista de entity-tags e devolve só as fortes: o If-Match usa
+     * comparação forte, então uma tag fraca nunca corresponde. Devolve nulo quando não há pré-condição.
+     */
+    static List<String> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        List<String> strongTags = new ArrayList<>();
+        int tags = 0;
+        int position = 0;
+        while (position < ifMatch.length()) {
+            char current = ifMatch.charAt(position);
+            if (current == ',' || current == ' ' || current == '\t') {
+                position++;
+                continue;
+            }
+            boolean weak = ifMatch.startsWith("W/", position);
+            int open = weak ? position + 2 : position;
+            int close = open < ifMatch.length() && ifMatch.charAt(open) == '"' ? ifMatch.indexOf('"', open + 1) : -1;
+            position = close + 1;
+            if (close < 0 || (position < ifMatch.length() && ",\t ".indexOf(ifMatch.charAt(position)) < 0)) {
+                throw new InvalidQueryException("If-Match inválido: " + ifMatch);
+            }
+            if (!weak) {
+                strongTags.add(ifMatch.substring(open, close + 1));
+            }
+            tags++;
+        }
+        if (tags == 0) {
+            throw new InvalidQueryException("If-Match inválido: " + ifMatch);
+        }
+        return strongTags;
+    }
 }
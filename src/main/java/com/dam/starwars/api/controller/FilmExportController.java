@@ -0,0 +1,99 @@
+package com.dam.starwars.api.controller;
+
+import com.dam.starwars.api.dto.FilmDetailResponse;
+import com.dam.starwars.api.dto.FilmDetailView;
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.service.FilmService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.zip.GZIPOutputStream;
+
+@Tag(name = "Films", description = "Operações relacionadas aos filmes Star Wars")
+@RestController
+@RequestMapping("/api/films")
+public class FilmExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final FilmService filmService;
+    private final ObjectWriter detailWriter;
+
+    public FilmExportController(FilmService filmService, ObjectMapper objectMapper) {
+        this.filmService = filmService;
+        // o flush fica por conta da exportação, não de cada filme escrito
+        this.detailWriter = objectMapper.writerFor(FilmDetailView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Operation(summary = "Exporta o catálogo",
+            description = "Transmite todos os filmes em NDJSON, um FilmDetailResponse por linha, na ordem de episódio; "
+                    + "compactado em gzip quando o cliente envia Accept-Encoding: gzip")
+    @ApiResponse(responseCode = "200", description = "Catálogo exportado",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = FilmDetailResponse.class)))
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportFilms(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body -> writeCatalog(body, gzip));
+    }
+
+    /**
+     * Escreve cada filme direto no stream da resposta enquanto percorre o catálogo. O primeiro
+     * filme é enviado na hora; os seguintes saem conforme o buffer da resposta enche.
+     */
+    private void writeCatalog(OutputStream body, boolean gzip) throws IOException {
+        OutputStream out = gzip ? new GZIPOutputStream(body, GZIP_BUFFER_SIZE, true) : body;
+        try (JsonGenerator generator = detailWriter.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            Iterator<Film> films = filmService.streamFilms().iterator();
+            boolean first = true;
+            while (films.hasNext()) {
+                detailWriter.writeValue(generator, new FilmDetailView(films.next()));
+                generator.writeRaw('\n');
+                if (first) {
+                    generator.flush();
+                    first = false;
+                }
+            }
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
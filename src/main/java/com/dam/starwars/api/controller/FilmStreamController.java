@@ -0,0 +1,31 @@
+package com.dam.starwars.api.controller;
+
+import com.dam.starwars.api.stream.FilmChangeStream;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(name = "Films", description = "Operações relacionadas aos filmes Star Wars")
+@RestController
+@RequestMapping("/api/films")
+public class FilmStreamController {
+
+    private final FilmChangeStream filmChangeStream;
+
+    public FilmStreamController(FilmChangeStream filmChangeStream) {
+        this.filmChangeStream = filmChangeStream;
+    }
+
+    @Operation(summary = "Stream de alterações",
+            description = "Envia via Server-Sent Events um evento 'film-changed' a cada alteração de filme")
+    @ApiResponse(responseCode = "200", description = "Stream aberto")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        return filmChangeStream.subscribe();
+    }
+}
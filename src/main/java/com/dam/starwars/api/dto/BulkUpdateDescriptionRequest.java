@@ -0,0 +1,30 @@
+package com.dam.starwars.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record BulkUpdateDescriptionRequest(
+        @Schema(description = "Atualizações a aplicar")
+        @NotEmpty(message = "Lista de atualizações não pode estar vazia")
+        List<@Valid Item> updates
+) {
+
+    public record Item(
+            @Schema(description = "Número do episódio", example = "4")
+            @NotNull(message = "Episódio é obrigatório")
+            Integer episodeId,
+
+            @Schema(description = "Nova descrição do filme", example = "Uma nova descrição para o filme.")
+            @NotBlank(message = "Descrição não pode estar vazia")
+            String description,
+
+            @Schema(description = "Versão esperada do filme; omitida para sobrescrever", example = "1")
+            Integer expectedVersion
+    ) {
+    }
+}
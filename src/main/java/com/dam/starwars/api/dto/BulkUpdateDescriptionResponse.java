@@ -0,0 +1,35 @@
+package com.dam.starwars.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado de uma atualização de descrições em lote")
+public record BulkUpdateDescriptionResponse(
+        @Schema(description = "Quantidade de filmes atualizados", example = "2")
+        int updated,
+
+        @Schema(description = "Quantidade de atualizações rejeitadas", example = "1")
+        int failed,
+
+        @Schema(description = "Resultado de cada item, na ordem do pedido")
+        List<Item> results
+) {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Item(
+            @Schema(description = "Número do episódio", example = "4")
+            Integer episodeId,
+
+            @Schema(description = "Situação do item", example = "UPDATED")
+            String status,
+
+            @Schema(description = "Nova versão do filme", example = "2")
+            Integer version,
+
+            @Schema(description = "Motivo da rejeição", example = "Filme com episódio 4 está na versão 3, esperada 2")
+            String message
+    ) {
+    }
+}
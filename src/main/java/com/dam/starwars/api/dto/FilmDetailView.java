@@ -0,0 +1,22 @@
+package com.dam.starwars.api.dto;
+
+import com.dam.starwars.api.mapper.FilmDetailSerializer;
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.SwapiResource;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Detalhes de um filme escritos direto do {@link Film} no stream da resposta. Gera o
+ * mesmo JSON de {@link FilmDetailResponse} sem montar o DTO intermediário. As listas em
+ * {@code expand} saem como objetos com nome e URL, usando os recursos já resolvidos.
+ */
+@JsonSerialize(using = FilmDetailSerializer.class)
+public record FilmDetailView(Film film, Set<String> expand, Map<String, SwapiResource> resources) {
+
+    public FilmDetailView(Film film) {
+        this(film, Set.of(), Map.of());
+    }
+}
@@ -0,0 +1,16 @@
+package com.dam.starwars.api.dto;
+
+import com.dam.starwars.api.mapper.FilmProjectionSerializer;
+import com.dam.starwars.domain.model.Film;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lista de filmes serializada só com os campos pedidos em {@code fields=}, escrita direto
+ * de cada {@link Film} com os mesmos valores de {@link FilmResponse}, sem montar o DTO.
+ */
+@JsonSerialize(using = FilmProjectionSerializer.class)
+public record FilmProjectionView(List<Film> films, Set<String> fields) {
+}
@@ -0,0 +1,13 @@
+package com.dam.starwars.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "DTO que representa um filme encontrado na busca textual")
+public record FilmSearchHitResponse(
+        @Schema(description = "Filme encontrado")
+        FilmResponse film,
+
+        @Schema(description = "Relevância do filme para a consulta (BM25)", example = "2.13")
+        double score
+) {
+}
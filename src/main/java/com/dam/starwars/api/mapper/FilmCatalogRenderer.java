@@ -0,0 +1,82 @@
+package com.dam.starwars.api.mapper;
+
+import com.dam.starwars.api.dto.FilmResponse;
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.FilmCatalogSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Serializa a listagem completa do catálogo uma vez por snapshot publicado, para que as leituras
+ * só devolvam os bytes prontos. O JSON de cada filme fica guardado pela instância do filme, que não
+ * muda depois de publicada, então um novo snapshot só mapeia e serializa os filmes que mudaram.
+ */
+@Component
+public class FilmCatalogRenderer {
+
+    private final FilmMapper filmMapper;
+    private final ObjectWriter filmWriter;
+
+    private volatile Rendering current;
+
+    public FilmCatalogRenderer(FilmMapper filmMapper, ObjectMapper objectMapper) {
+        this.filmMapper = filmMapper;
+        this.filmWriter = objectMapper.writerFor(FilmResponse.class);
+    }
+
+    /**
+     * JSON da lista de filmes do snapshot, na ordem de episódio. O array devolvido é compartilhado
+     * entre as requisições e não deve ser alterado.
+     */
+    public byte[] render(FilmCatalogSnapshot snapshot) {
+        Rendering rendering = current;
+        if (rendering != null && rendering.snapshot() == snapshot) {
+            return rendering.json();
+        }
+        synchronized (this) {
+            // quem chegou primeiro já pode ter renderizado este snapshot
+            rendering = current;
+            if (rendering == null || rendering.snapshot() != snapshot) {
+                rendering = render(snapshot, rendering);
+                current = rendering;
+            }
+            return rendering.json();
+        }
+    }
+
+    private Rendering render(FilmCatalogSnapshot snapshot, Rendering previous) {
+        Map<Film, byte[]> fragments = new IdentityHashMap<>(snapshot.films().size());
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        json.write('[');
+        for (Film film : snapshot.films()) {
+            byte[] fragment = previous != null ? previous.fragments().get(film) : null;
+            if (fragment == null) {
+                fragment = serialize(film);
+            }
+            fragments.put(film, fragment);
+            if (fragments.size() > 1) {
+                json.write(',');
+            }
+            json.writeBytes(fragment);
+        }
+        json.write(']');
+        return new Rendering(snapshot, json.toByteArray(), fragments);
+    }
+
+    private byte[] serialize(Film film) {
+        try {
+            return filmWriter.writeValueAsBytes(filmMapper.toFilmResponse(film));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar o catálogo de filmes", e);
+        }
+    }
+
+    private record Rendering(FilmCatalogSnapshot snapshot, byte[] json, Map<Film, byte[]> fragments) {
+    }
+}
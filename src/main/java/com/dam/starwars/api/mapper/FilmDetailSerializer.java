@@ -0,0 +1,148 @@
+package com.dam.starwars.api.mapper;
+
+import com.dam.starwars.api.dto.FilmDetailResponse;
+import com.dam.starwars.api.dto.FilmDetailView;
+import com.dam.starwars.common.exception.InvalidQueryException;
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.SwapiResource;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Escreve um {@link FilmDetailView} campo a campo no {@link JsonGenerator}, na mesma ordem
+ * em que o Jackson serializa {@link FilmDetailResponse}, com os mesmos nomes e a regra NON_NULL. Datas passam
+ * pelo serializador configurado no ObjectMapper para manter o formato idêntico.
+ */
+public class FilmDetailSerializer extends StdSerializer<FilmDetailView> {
+
+    public static final List<String> EXPANDABLE_FIELDS = List.of("characters", "planets", "starships", "vehicles",
+            "species");
+
+    public FilmDetailSerializer() {
+        super(FilmDetailView.class);
+    }
+
+    @Override
+    public void serialize(FilmDetailView view, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        Film film = view.film();
+        generator.writeStartObject(view);
+        // o Jackson escreve primeiro os componentes do record renomeados com @JsonProperty
+        if (film.getEpisodeId() != null) {
+            generator.writeNumberField("episode_id", film.getEpisodeId());
+        }
+        writeString(generator, "opening_crawl", film.getOpeningCrawl());
+        writeString(generator, "release_date", film.getReleaseDate());
+        writeString(generator, "title", film.getTitle());
+        writeString(generator, "director", film.getDirector());
+        writeString(generator, "producer", film.getProducer());
+        for (String field : EXPANDABLE_FIELDS) {
+            if (view.expand().contains(field)) {
+                writeExpandedList(generator, field, linkedUrls(film, field), view.resources());
+            } else {
+                writeList(generator, provider, field, linkedUrls(film, field));
+            }
+        }
+        writeDateTime(generator, provider, "created", film.getCreated());
+        writeDateTime(generator, provider, "edited", film.getEdited());
+        writeString(generator, "url", film.getUrl());
+        if (film.getVersion() != null) {
+            generator.writeNumberField("version", film.getVersion());
+        }
+        writeString(generator, "customDescription", film.getCustomDescription());
+        writeDateTime(generator, provider, "lastModified", film.getLastModified());
+        writeString(generator, "currentDescription", film.getCurrentDescription());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Lê a lista do parâmetro {@code expand}, rejeitando campos que não são listas de recursos.
+     */
+    public static Set<String> parseExpand(String expand) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (String field : expand.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!EXPANDABLE_FIELDS.contains(name)) {
+                throw new InvalidQueryException("Campo não expansível: " + name + ". Use " + String.join(", ",
+                        EXPANDABLE_FIELDS));
+            }
+            fields.add(name);
+        }
+        return fields;
+    }
+
+    /**
+     * URLs das listas pedidas, sem repetição, para resolver em uma única rodada.
+     */
+    public static Set<String> linkedUrls(Film film, Set<String> fields) {
+        Set<String> urls = new LinkedHashSet<>();
+        for (String field : fields) {
+            List<String> values = linkedUrls(film, field);
+            if (values != null) {
+                urls.addAll(values);
+            }
+        }
+        return urls;
+    }
+
+    private static List<String> linkedUrls(Film film, String field) {
+        return switch (field) {
+            case "characters" -> film.getCharacters();
+            case "planets" -> film.getPlanets();
+            case "starships" -> film.getStarships();
+            case "vehicles" -> film.getVehicles();
+            case "species" -> film.getSpecies();
+            default -> throw new IllegalArgumentException(field);
+        };
+    }
+
+    private static void writeString(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    private static void writeList(JsonGenerator generator, SerializerProvider provider, String name,
+                                  List<String> values) throws IOException {
+        if (values != null) {
+            // listas compactadas (ResourceIdList) têm serializador próprio que escreve sem criar Strings
+            provider.defaultSerializeField(name, values, generator);
+        }
+    }
+
+    private static void writeExpandedList(JsonGenerator generator, String name, List<String> urls,
+                                          Map<String, SwapiResource> resources) throws IOException {
+        if (urls == null) {
+            return;
+        }
+        generator.writeArrayFieldStart(name);
+        for (String url : urls) {
+            generator.writeStartObject();
+            SwapiResource resource = resources.get(url);
+            // recurso que não foi resolvido a tempo sai só com a URL
+            if (resource != null && resource.getName() != null) {
+                generator.writeStringField("name", resource.getName());
+            }
+            generator.writeStringField("url", url);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeDateTime(JsonGenerator generator, SerializerProvider provider, String name,
+                                      LocalDateTime value) throws IOException {
+        if (value != null) {
+            provider.defaultSerializeField(name, value, generator);
+        }
+    }
+}
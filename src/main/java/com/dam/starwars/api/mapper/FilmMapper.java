@@ -1,21 +1,22 @@
 package com.dam.starwars.api.mapper;
 
+import com.dam.starwars.api.dto.BulkUpdateDescriptionRequest;
+import com.dam.starwars.api.dto.BulkUpdateDescriptionResponse;
 import com.dam.starwars.api.dto.FilmDetailResponse;
 import com.dam.starwars.api.dto.FilmResponse;
-import com.dam.starwars.common.exception.DateParseException;
+import com.dam.starwars.api.dto.FilmSearchHitResponse;
+import com.dam.starwars.domain.model.DescriptionUpdate;
+import com.dam.starwars.domain.model.DescriptionUpdateResult;
 import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.FilmSearchHit;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.List;
 
 @Component
 public class FilmMapper {
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final int MAX_OPENING_CRAWL_LENGTH = 200;
-
     public FilmResponse toFilmResponse(Film film) {
         if (film == null) {
             return null;
@@ -24,16 +25,26 @@ public class FilmMapper {
         return new FilmResponse(
                 film.getTitle(),
                 film.getEpisodeId() != null ? film.getEpisodeId() : 0,
-                formatOpeningCrawl(film.getOpeningCrawl()),
+                film.getFormattedOpeningCrawl(),
                 film.getDirector(),
                 film.getProducer(),
-                parseReleaseDate(film.getReleaseDate()),
+                film.hasReleaseDate() ? LocalDate.ofEpochDay(film.getReleaseEpochDay()) : null,
                 film.getVersion() != null ? film.getVersion() : 1,
                 film.getCustomDescription(),
                 film.getLastModified()
         );
     }
 
+    public List<FilmResponse> toFilmResponses(List<Film> films) {
+        return films.stream()
+                .map(this::toFilmResponse)
+                .toList();
+    }
+
+    public FilmSearchHitResponse toFilmSearchHitResponse(FilmSearchHit hit) {
+        return new FilmSearchHitResponse(toFilmResponse(hit.film()), hit.score());
+    }
+
     public FilmDetailResponse toFilmDetailResponse(Film film) {
         return new FilmDetailResponse(
                 film.getTitle(),
@@ -57,31 +68,25 @@ public class FilmMapper {
         );
     }
 
-    private String formatOpeningCrawl(String openingCrawl) {
-        if (openingCrawl == null || openingCrawl.trim().isEmpty()) {
-            return null;
-        }
-
-        String cleaned = openingCrawl
-                .replaceAll("\\s+", " ")
-                .trim();
+    public BulkUpdateDescriptionResponse toBulkUpdateDescriptionResponse(List<DescriptionUpdateResult> results) {
+        List<BulkUpdateDescriptionResponse.Item> items = results.stream()
+                .map(result -> new BulkUpdateDescriptionResponse.Item(
+                        result.episodeId(),
+                        result.status().name(),
+                        result.film() != null ? result.film().getVersion() : null,
+                        result.message()))
+                .toList();
+        int updated = (int) results.stream()
+                .filter(result -> result.status() == DescriptionUpdateResult.Status.UPDATED)
+                .count();
 
-        if (cleaned.length() > MAX_OPENING_CRAWL_LENGTH) {
-            return cleaned.substring(0, MAX_OPENING_CRAWL_LENGTH - 3) + "...";
-        }
-
-        return cleaned;
+        return new BulkUpdateDescriptionResponse(updated, results.size() - updated, items);
     }
 
-    private LocalDate parseReleaseDate(String dateString) {
-        if (dateString == null || dateString.trim().isEmpty()) {
-            return null;
-        }
-
-        try {
-            return LocalDate.parse(dateString, DATE_FORMATTER);
-        } catch (DateTimeParseException e) {
-            throw new DateParseException("Formato de data inválido: " + dateString, e);
-        }
+    public List<DescriptionUpdate> toDescriptionUpdates(BulkUpdateDescriptionRequest request) {
+        return request.updates().stream()
+                .map(item -> new DescriptionUpdate(item.episodeId(), item.description(), item.expectedVersion()))
+                .toList();
     }
+
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.dam.starwars.api.mapper;
+
+import com.dam.starwars.api.dto.FilmProjectionView;
+import com.dam.starwars.api.dto.FilmResponse;
+import com.dam.starwars.common.exception.InvalidQueryException;
+import com.dam.starwars.domain.model.Film;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Escreve apenas os campos projetados de cada {@link Film}, com os valores, a ordem e a
+ * regra NON_NULL de {@link FilmResponse}.
+ */
+public class FilmProjectionSerializer extends StdSerializer<FilmProjectionView> {
+
+    public static final List<String> FIELDS = List.of("title", "episode_id", "opening_crawl", "director",
+            "producer", "release_date", "version", "customDescription", "lastModified");
+
+    public FilmProjectionSerializer() {
+        super(FilmProjectionView.class);
+    }
+
+    public static Set<String> parseFields(String fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!FIELDS.contains(name)) {
+                throw new InvalidQueryException("Campo inválido em fields: " + name + ". Campos disponíveis: "
+                        + String.join(", ", FIELDS));
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+
+    @Override
+    public void serialize(FilmProjectionView view, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        Set<String> fields = view.fields();
+        boolean title = fields.contains("title");
+        boolean episodeId = fields.contains("episode_id");
+        boolean openingCrawl = fields.contains("opening_crawl");
+        boolean director = fields.contains("director");
+        boolean producer = fields.contains("producer");
+        boolean releaseDate = fields.contains("release_date");
+        boolean version = fields.contains("version");
+        boolean customDescription = fields.contains("customDescription");
+        boolean lastModified = fields.contains("lastModified");
+
+        generator.writeStartArray(view, view.films().size());
+        for (Film film : view.films()) {
+            generator.writeStartObject(film);
+            if (title) {
+                writeString(generator, "title", film.getTitle());
+            }
+            if (episodeId) {
+                generator.writeNumberField("episode_id", film.getEpisodeId() != null ? film.getEpisodeId() : 0);
+            }
+            if (openingCrawl) {
+                writeString(generator, "opening_crawl", film.getFormattedOpeningCrawl());
+            }
+            if (director) {
+                writeString(generator, "director", film.getDirector());
+            }
+            if (producer) {
+                writeString(generator, "producer", film.getProducer());
+            }
+            if (releaseDate && film.hasReleaseDate()) {
+                provider.defaultSerializeField("release_date", LocalDate.ofEpochDay(film.getReleaseEpochDay()),
+                        generator);
+            }
+            if (version) {
+                generator.writeNumberField("version", film.getVersion() != null ? film.getVersion() : 1);
+            }
+            if (customDescription) {
+                writeString(generator, "customDescription", film.getCustomDescription());
+            }
+            if (lastModified && film.getLastModified() != null) {
+                provider.defaultSerializeField("lastModified", film.getLastModified(), generator);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeString(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.dam.starwars.api.stream;
+
+import com.dam.starwars.domain.model.FilmChangeEvent;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffer limitado de eventos pendentes de um assinante. Eventos do mesmo episódio
+ * são combinados em um só; quando a capacidade estoura, o evento mais antigo é
+ * descartado e o descarte é contado para que o cliente seja avisado a ressincronizar.
+ */
+class CoalescingEventBuffer {
+
+    private final int capacity;
+    private final Map<Integer, FilmChangeEvent> pending = new LinkedHashMap<>();
+    private int dropped;
+    private boolean draining;
+
+    CoalescingEventBuffer(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * @return {@code true} se quem chamou deve agendar a entrega do buffer
+     */
+    synchronized boolean offer(FilmChangeEvent event) {
+        FilmChangeEvent previous = pending.remove(event.episodeId());
+        pending.put(event.episodeId(), previous != null ? previous.mergedWith(event) : event);
+
+        if (pending.size() > capacity) {
+            Iterator<Integer> eldest = pending.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            dropped++;
+        }
+
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    /**
+     * Retira tudo o que está pendente. Uma lista vazia encerra a rodada de entrega.
+     */
+    synchronized Batch drain() {
+        Batch batch = new Batch(new ArrayList<>(pending.values()), dropped);
+        pending.clear();
+        dropped = 0;
+        if (batch.events().isEmpty() && batch.dropped() == 0) {
+            draining = false;
+        }
+        return batch;
+    }
+
+    record Batch(List<FilmChangeEvent> events, int dropped) {
+
+        boolean isEmpty() {
+            return events.isEmpty() && dropped == 0;
+        }
+    }
+}
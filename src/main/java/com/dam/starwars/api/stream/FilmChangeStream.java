@@ -0,0 +1,179 @@
+package com.dam.starwars.api.stream;
+
+import com.dam.starwars.common.exception.StreamCapacityExceededException;
+import com.dam.starwars.domain.model.FilmChangeEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distribui os eventos de alteração de filmes para os assinantes SSE. Quem altera o
+ * catálogo apenas enfileira o evento no buffer de cada assinante; o envio acontece
+ * em um pool limitado a {@code films.stream.dispatcher-threads}, com no máximo uma
+ * tarefa por assinante, então um cliente lento não segura o escritor nem os demais
+ * assinantes. Um envio preso por mais que {@code films.stream.write-timeout} derruba
+ * o assinante, e acima de {@code films.stream.max-subscribers} novas assinaturas são recusadas.
+ */
+@Component
+public class FilmChangeStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(FilmChangeStream.class);
+
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+    private final int bufferCapacity;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledExecutorService watchdog;
+
+    public FilmChangeStream(@Value("${films.stream.buffer-capacity:256}") int bufferCapacity,
+                            @Value("${films.stream.timeout:30m}") Duration timeout,
+                            @Value("${films.stream.write-timeout:10s}") Duration writeTimeout,
+                            @Value("${films.stream.dispatcher-threads:16}") int dispatcherThreads,
+                            @Value("${films.stream.max-subscribers:1000}") int maxSubscribers) {
+        this.bufferCapacity = bufferCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        AtomicInteger threadCount = new AtomicInteger();
+        // threads de plataforma: SseEmitter.send é synchronized e prenderia uma thread virtual.
+        // A fila não cresce sem limite: cada assinante tem no máximo uma entrega pendente
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "film-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        dispatcher.allowCoreThreadTimeOut(true);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "film-stream-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, writeTimeout.toMillis() / 2);
+        watchdog.scheduleWithFixedDelay(this::dropStalledSubscribers, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, new CoalescingEventBuffer(bufferCapacity));
+        synchronized (subscribers) {
+            if (subscribers.size() >= maxSubscribers) {
+                throw new StreamCapacityExceededException(
+                        "Limite de " + maxSubscribers + " assinantes do stream atingido");
+            }
+            subscribers.add(subscriber);
+        }
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        logger.debug("Novo assinante do stream de filmes; total: {}", subscribers.size());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onFilmChanged(FilmChangeEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.buffer.offer(event)) {
+                dispatcher.execute(() -> deliver(subscriber));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    private void deliver(Subscriber subscriber) {
+        CoalescingEventBuffer.Batch batch;
+        while (!(batch = subscriber.buffer.drain()).isEmpty()) {
+            try {
+                if (batch.dropped() > 0) {
+                    subscriber.send(SseEmitter.event()
+                            .name("resync")
+                            .data(Map.of("dropped", batch.dropped()), MediaType.APPLICATION_JSON));
+                }
+                for (FilmChangeEvent event : batch.events()) {
+                    subscriber.send(SseEmitter.event()
+                            .id(event.episodeId() + "-" + event.version() + "-" + event.revision())
+                            .name("film-changed")
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Assinante do stream desconectado: {}", e.getMessage());
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove os assinantes com um envio parado há mais que o tempo limite. O emissor é
+     * encerrado no pool, porque {@code completeWithError} espera o envio travado soltar o lock.
+     */
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > writeTimeoutNanos && subscribers.remove(subscriber)) {
+                logger.warn("Assinante do stream removido: envio parado há mais de {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+                dispatcher.execute(() -> subscriber.emitter.completeWithError(
+                        new TimeoutException("Envio do evento excedeu o tempo limite")));
+            }
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final CoalescingEventBuffer buffer;
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter, CoalescingEventBuffer buffer) {
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendingSince = Math.max(1, System.nanoTime());
+            try {
+                emitter.send(event);
+            } finally {
+                sendingSince = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.dam.starwars.common.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Cliente único da SWAPI: mantém as conexões abertas entre chamadas e negocia HTTP/2
+     * (ALPN em HTTPS), voltando para HTTP/1.1 quando o servidor não suporta. Com
+     * {@code spring.threads.virtual.enabled}, as respostas são tratadas em virtual threads.
+     */
+    @Bean
+    public HttpClient swapiHttpClient(@Value("${swapi.http.connect-timeout:5s}") Duration connectTimeout,
+                                      @Value("${swapi.http.version:HTTP_2}") HttpClient.Version version,
+                                      @Qualifier("swapiHttpExecutor") ObjectProvider<ExecutorService> executor) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        executor.ifAvailable(builder::executor);
+        return builder.build();
+    }
+
+    /**
+     * Executor de virtual threads do cliente da SWAPI, encerrado junto com o contexto.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public ExecutorService swapiHttpExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
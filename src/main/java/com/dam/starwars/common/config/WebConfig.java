@@ -0,0 +1,21 @@
+package com.dam.starwars.common.config;
+
+import com.dam.starwars.api.controller.CatalogFreshnessInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CatalogFreshnessInterceptor catalogFreshnessInterceptor;
+
+    public WebConfig(CatalogFreshnessInterceptor catalogFreshnessInterceptor) {
+        this.catalogFreshnessInterceptor = catalogFreshnessInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(catalogFreshnessInterceptor).addPathPatterns("/api/films", "/api/films/**");
+    }
+}
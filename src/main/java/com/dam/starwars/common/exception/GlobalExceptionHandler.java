@@ -1,5 +1,6 @@
 package com.dam.starwars.common.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -23,15 +24,32 @@ public class GlobalExceptionHandler {
         );
     }
 
-    @ExceptionHandler(DateParseException.class)
-    public ResponseEntity<Map<String, Object>> handleDateParseError(DateParseException ex) {
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleVersionConflict(VersionConflictException ex) {
+        return buildErrorResponse(
+                HttpStatus.PRECONDITION_FAILED,
+                "Conflito de Versão",
+                ex.getMessage()
+        );
+    }
+
+    @ExceptionHandler(InvalidQueryException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidQuery(InvalidQueryException ex) {
         return buildErrorResponse(
                 HttpStatus.BAD_REQUEST,
-                "Erro de Formato de Data",
+                "Parâmetro Inválido",
                 ex.getMessage()
         );
     }
 
+    @ExceptionHandler(StreamCapacityExceededException.class)
+    public ResponseEntity<Void> handleStreamCapacityExceeded(StreamCapacityExceededException ex) {
+        // sem corpo: o cliente do stream só aceita text/event-stream, e o mapa de erro sairia como JSON
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .build();
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException ex) {
         Map<String, String> fieldErrors = new HashMap<>();
@@ -0,0 +1,11 @@
+package com.dam.starwars.common.exception;
+
+/**
+ * Stream de alterações recusado: o limite de assinantes simultâneos foi atingido.
+ */
+public class StreamCapacityExceededException extends RuntimeException {
+
+    public StreamCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.dam.starwars.common.exception;
+
+public class SwapiIntegrationException extends RuntimeException {
+
+    public SwapiIntegrationException(String message) {
+        super(message);
+    }
+
+    public SwapiIntegrationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
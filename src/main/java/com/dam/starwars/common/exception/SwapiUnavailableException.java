@@ -0,0 +1,11 @@
+package com.dam.starwars.common.exception;
+
+/**
+ * Chamada à SWAPI recusada localmente, sem ir à rede: circuito aberto ou limite de chamadas simultâneas.
+ */
+public class SwapiUnavailableException extends SwapiIntegrationException {
+
+    public SwapiUnavailableException(String message) {
+        super(message);
+    }
+}
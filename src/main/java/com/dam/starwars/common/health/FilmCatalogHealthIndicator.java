@@ -0,0 +1,35 @@
+package com.dam.starwars.common.health;
+
+import com.dam.starwars.api.client.SwapiClient;
+import com.dam.starwars.domain.service.FilmCatalogLoader;
+import com.dam.starwars.domain.service.FilmService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FilmCatalogHealthIndicator implements HealthIndicator {
+
+    private final FilmCatalogLoader filmCatalogLoader;
+    private final FilmService filmService;
+    private final SwapiClient swapiClient;
+
+    public FilmCatalogHealthIndicator(FilmCatalogLoader filmCatalogLoader, FilmService filmService,
+                                      SwapiClient swapiClient) {
+        this.filmCatalogLoader = filmCatalogLoader;
+        this.filmService = filmService;
+        this.swapiClient = swapiClient;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = filmCatalogLoader.isCatalogLoaded() ? Health.up() : Health.outOfService();
+        builder.withDetail("films", filmService.getTotalFilms());
+        builder.withDetail("stale", filmService.getCatalogFreshness().stale());
+        builder.withDetail("swapiCircuit", swapiClient.getCircuitState());
+        if (!swapiClient.getQuarantinedReleaseDates().isEmpty()) {
+            builder.withDetail("quarantinedReleaseDates", swapiClient.getQuarantinedReleaseDates());
+        }
+        return builder.build();
+    }
+}
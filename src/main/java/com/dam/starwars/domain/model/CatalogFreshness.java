@@ -0,0 +1,10 @@
+package com.dam.starwars.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Quando o catálogo foi confirmado pela SWAPI pela última vez e se ele está sendo servido velho,
+ * porque a última sincronização falhou ou ainda não aconteceu (catálogo restaurado do snapshot).
+ */
+public record CatalogFreshness(Instant lastSyncedAt, boolean stale) {
+}
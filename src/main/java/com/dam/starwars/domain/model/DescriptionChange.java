@@ -0,0 +1,6 @@
+package com.dam.starwars.domain.model;
+
+import java.time.LocalDateTime;
+
+public record DescriptionChange(int episodeId, int version, String description, LocalDateTime modifiedAt) {
+}
@@ -0,0 +1,4 @@
+package com.dam.starwars.domain.model;
+
+public record DescriptionUpdate(Integer episodeId, String description, Integer expectedVersion) {
+}
@@ -0,0 +1,18 @@
+package com.dam.starwars.domain.model;
+
+public record DescriptionUpdateResult(Integer episodeId, Status status, Film film, String message) {
+
+    public enum Status {
+        UPDATED,
+        NOT_FOUND,
+        CONFLICT
+    }
+
+    public static DescriptionUpdateResult updated(Film film) {
+        return new DescriptionUpdateResult(film.getEpisodeId(), Status.UPDATED, film, null);
+    }
+
+    public static DescriptionUpdateResult failed(Integer episodeId, Status status, String message) {
+        return new DescriptionUpdateResult(episodeId, status, null, message);
+    }
+}
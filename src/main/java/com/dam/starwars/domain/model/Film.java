@@ -1,11 +1,27 @@
 package com.dam.starwars.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 public class Film {
+
+    public static final int NO_RELEASE_DATE = Integer.MIN_VALUE;
+
+    // tamanho máximo do crawl resumido exibido na listagem
+    private static final int MAX_FORMATTED_CRAWL_LENGTH = 200;
+
+    private static final DateTimeFormatter RELEASE_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
     private String title;
 
     @JsonProperty("episode_id")
@@ -17,8 +33,11 @@ public class Film {
     private String director;
     private String producer;
 
-    @JsonProperty("release_date")
-    private String releaseDate;
+    // data de lançamento já interpretada, em dias desde 1970-01-01
+    private int releaseEpochDay = NO_RELEASE_DATE;
+
+    // texto original da data apenas quando a SWAPI manda um valor que não se interpreta
+    private String malformedReleaseDate;
 
     private List<String> characters;
     private List<String> planets;
@@ -31,9 +50,15 @@ public class Film {
     private String url;
 
     private Integer version = 1;
+    // quantas vezes o conteúdo vindo da SWAPI mudou; a versão só conta as edições locais
+    private int revision;
     private String customDescription;
     private LocalDateTime lastModified;
 
+    // crawl já formatado para a listagem, calculado junto com o texto original; um filme publicado
+    // nunca é alterado, então quem o lê não vê o cache sendo preenchido
+    private String formattedOpeningCrawl;
+
     public Film() {
         this.lastModified = LocalDateTime.now();
     }
@@ -42,7 +67,7 @@ public class Film {
         this();
         this.title = title;
         this.episodeId = episodeId;
-        this.openingCrawl = openingCrawl;
+        setOpeningCrawl(openingCrawl);
     }
 
     public String getTitle() {
@@ -67,6 +92,12 @@ public class Film {
 
     public void setOpeningCrawl(String openingCrawl) {
         this.openingCrawl = openingCrawl;
+        this.formattedOpeningCrawl = OpeningCrawlNormalizer.normalize(openingCrawl, MAX_FORMATTED_CRAWL_LENGTH);
+    }
+
+    @JsonIgnore
+    public String getFormattedOpeningCrawl() {
+        return formattedOpeningCrawl;
     }
 
     public String getDirector() {
@@ -85,12 +116,36 @@ public class Film {
         this.producer = producer;
     }
 
+    @JsonProperty("release_date")
     public String getReleaseDate() {
-        return releaseDate;
+        return hasReleaseDate() ? LocalDate.ofEpochDay(releaseEpochDay).toString() : malformedReleaseDate;
     }
 
+    /**
+     * Interpreta a data da SWAPI uma única vez e guarda só o dia. Um valor malformado
+     * não lança exceção: é mantido como veio e pode ser identificado por
+     * {@link #hasMalformedReleaseDate()}.
+     */
+    @JsonProperty("release_date")
     public void setReleaseDate(String releaseDate) {
-        this.releaseDate = releaseDate;
+        this.releaseEpochDay = parseEpochDay(releaseDate);
+        this.malformedReleaseDate = releaseEpochDay == NO_RELEASE_DATE
+                && releaseDate != null && !releaseDate.trim().isEmpty() ? releaseDate : null;
+    }
+
+    @JsonIgnore
+    public int getReleaseEpochDay() {
+        return releaseEpochDay;
+    }
+
+    @JsonIgnore
+    public boolean hasReleaseDate() {
+        return releaseEpochDay != NO_RELEASE_DATE;
+    }
+
+    @JsonIgnore
+    public boolean hasMalformedReleaseDate() {
+        return malformedReleaseDate != null;
     }
 
     public List<String> getCharacters() {
@@ -98,7 +153,7 @@ public class Film {
     }
 
     public void setCharacters(List<String> characters) {
-        this.characters = characters;
+        this.characters = ResourceIdList.of(characters);
     }
 
     public List<String> getPlanets() {
@@ -106,7 +161,7 @@ public class Film {
     }
 
     public void setPlanets(List<String> planets) {
-        this.planets = planets;
+        this.planets = ResourceIdList.of(planets);
     }
 
     public List<String> getStarships() {
@@ -114,7 +169,7 @@ public class Film {
     }
 
     public void setStarships(List<String> starships) {
-        this.starships = starships;
+        this.starships = ResourceIdList.of(starships);
     }
 
     public List<String> getVehicles() {
@@ -122,7 +177,7 @@ public class Film {
     }
 
     public void setVehicles(List<String> vehicles) {
-        this.vehicles = vehicles;
+        this.vehicles = ResourceIdList.of(vehicles);
     }
 
     public List<String> getSpecies() {
@@ -130,7 +185,7 @@ public class Film {
     }
 
     public void setSpecies(List<String> species) {
-        this.species = species;
+        this.species = ResourceIdList.of(species);
     }
 
     public LocalDateTime getCreated() {
@@ -165,14 +220,31 @@ public class Film {
         this.version = version;
     }
 
+    @JsonIgnore
+    public int getRevision() {
+        return revision;
+    }
+
+    @JsonIgnore
+    public void setRevision(int revision) {
+        this.revision = revision;
+    }
+
+    /**
+     * Registra uma mudança de conteúdo vinda da SWAPI: avança a revisão e o {@code lastModified},
+     * para que ETag, Last-Modified e o id do evento SSE deixem de bater com a cópia antiga.
+     */
+    public void markRevised() {
+        this.revision++;
+        this.lastModified = LocalDateTime.now();
+    }
+
     public String getCustomDescription() {
         return customDescription;
     }
 
     public void setCustomDescription(String customDescription) {
         this.customDescription = customDescription;
-        this.version++;
-        this.lastModified = LocalDateTime.now();
     }
 
     public LocalDateTime getLastModified() {
@@ -183,12 +255,112 @@ public class Film {
         this.lastModified = lastModified;
     }
 
+    @JsonIgnore
+    public String getETag() {
+        return "\"" + episodeId + "-" + version + "-" + revision + "\"";
+    }
+
+    @JsonIgnore
+    public long getLastModifiedMillis() {
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
     public String getCurrentDescription() {
         return customDescription != null ? customDescription : openingCrawl;
     }
 
-    public void incrementVersion() {
-        this.version++;
-        this.lastModified = LocalDateTime.now();
+    public Film copy() {
+        Film copy = new Film(title, episodeId, openingCrawl);
+        copy.director = director;
+        copy.producer = producer;
+        copy.releaseEpochDay = releaseEpochDay;
+        copy.malformedReleaseDate = malformedReleaseDate;
+        copy.characters = characters;
+        copy.planets = planets;
+        copy.starships = starships;
+        copy.vehicles = vehicles;
+        copy.species = species;
+        copy.created = created;
+        copy.edited = edited;
+        copy.url = url;
+        copy.version = version;
+        copy.revision = revision;
+        copy.customDescription = customDescription;
+        copy.lastModified = lastModified;
+        copy.formattedOpeningCrawl = formattedOpeningCrawl;
+        return copy;
+    }
+
+    /**
+     * Nova instância com a descrição trocada, a versão seguinte e {@code lastModified} agora.
+     */
+    public Film withCustomDescription(String customDescription) {
+        Film updated = copy();
+        updated.restoreLocalState(version + 1, customDescription, LocalDateTime.now());
+        return updated;
+    }
+
+    /**
+     * Nova instância com a alteração de descrição aplicada; este filme fica como estava.
+     */
+    public Film withChange(DescriptionChange change) {
+        Film updated = copy();
+        updated.restoreLocalState(change.version(), change.description(), change.modifiedAt());
+        return updated;
+    }
+
+    /**
+     * Campos alterados em relação a {@code previous}, com os nomes das propriedades JSON da API.
+     * A revisão não entra: ela só existe no ETag e no próprio evento.
+     */
+    public Set<String> changedFieldsSince(Film previous) {
+        Film before = previous != null ? previous : new Film();
+        Set<String> changed = new LinkedHashSet<>();
+        addIfChanged(changed, "title", title, before.title);
+        addIfChanged(changed, "opening_crawl", openingCrawl, before.openingCrawl);
+        addIfChanged(changed, "director", director, before.director);
+        addIfChanged(changed, "producer", producer, before.producer);
+        if (releaseEpochDay != before.releaseEpochDay) {
+            changed.add("release_date");
+        } else {
+            addIfChanged(changed, "release_date", malformedReleaseDate, before.malformedReleaseDate);
+        }
+        addIfChanged(changed, "characters", characters, before.characters);
+        addIfChanged(changed, "planets", planets, before.planets);
+        addIfChanged(changed, "starships", starships, before.starships);
+        addIfChanged(changed, "vehicles", vehicles, before.vehicles);
+        addIfChanged(changed, "species", species, before.species);
+        addIfChanged(changed, "edited", edited, before.edited);
+        addIfChanged(changed, "url", url, before.url);
+        addIfChanged(changed, "customDescription", customDescription, before.customDescription);
+        if (previous == null || !Objects.equals(version, previous.version)) {
+            changed.add("version");
+        }
+        addIfChanged(changed, "lastModified", lastModified, before.lastModified);
+        return changed;
+    }
+
+    public void restoreLocalState(Integer version, String customDescription, LocalDateTime lastModified) {
+        this.version = version;
+        this.customDescription = customDescription;
+        this.lastModified = lastModified;
+    }
+
+    private static int parseEpochDay(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return NO_RELEASE_DATE;
+        }
+
+        try {
+            return (int) LocalDate.parse(value, RELEASE_DATE_FORMATTER).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return NO_RELEASE_DATE;
+        }
+    }
+
+    private static void addIfChanged(Set<String> changed, String field, Object current, Object previous) {
+        if (!Objects.equals(current, previous)) {
+            changed.add(field);
+        }
     }
 }
@@ -0,0 +1,183 @@
+package com.dam.starwars.domain.model;
+
+import com.dam.starwars.common.exception.InvalidQueryException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Visão imutável do catálogo publicada a cada mutação do {@code FilmService}.
+ * Guarda os filmes já ordenados por cada {@link FilmSort} para a listagem paginada, os
+ * índices secundários usados nos filtros e o índice da busca textual. Os filmes de um snapshot
+ * nunca são alterados, então a camada da API pode guardar o que renderiza a partir deles.
+ * <p>
+ * A versão recomeça a cada inicialização, por isso os ETags também levam o {@code epoch} da
+ * instância que publicou o snapshot: um ETag guardado antes de um restart nunca coincide com o de
+ * um catálogo diferente que por acaso tenha a mesma versão.
+ */
+public record FilmCatalogSnapshot(String epoch, long version, long lastModified, List<Film> films,
+                                  Map<FilmSort, List<Film>> sortedFilms, FilmIndex index,
+                                  FilmSearchIndex searchIndex) {
+
+    public FilmCatalogSnapshot {
+        films = List.copyOf(films);
+        sortedFilms = Map.copyOf(sortedFilms);
+    }
+
+    public FilmCatalogSnapshot(String epoch, long version, long lastModified, List<Film> films,
+                               FilmIndex index, FilmSearchIndex searchIndex) {
+        this(epoch, version, lastModified, films, sort(films), index, searchIndex);
+    }
+
+    public FilmCatalogSnapshot(String epoch, long version, long lastModified, List<Film> films) {
+        this(epoch, version, lastModified, films, FilmIndex.EMPTY.update(films), FilmSearchIndex.EMPTY);
+    }
+
+    /**
+     * Novo snapshot com os filmes alterados ou incluídos. Cada índice ordenado é refeito por
+     * intercalação dos filmes alterados com os demais, já na ordem, sem reordenar o catálogo; os
+     * índices secundários e o da busca também só processam os filmes alterados.
+     */
+    public FilmCatalogSnapshot with(long version, long lastModified, Collection<Film> changed) {
+        Map<Integer, Film> byEpisode = new LinkedHashMap<>();
+        changed.forEach(film -> byEpisode.put(film.getEpisodeId(), film));
+        Map<FilmSort, List<Film>> sorted = new EnumMap<>(FilmSort.class);
+        for (FilmSort sort : FilmSort.values()) {
+            List<Film> replacements = new ArrayList<>(byEpisode.values());
+            replacements.sort(sort.comparator());
+            sorted.put(sort, merge(sortedFilms.get(sort), byEpisode.keySet(), replacements, sort.comparator()));
+        }
+        return new FilmCatalogSnapshot(epoch, version, lastModified, sorted.get(FilmSort.EPISODE), sorted,
+                index.with(byEpisode.values()), searchIndex.with(byEpisode.values()));
+    }
+
+    public String eTag() {
+        return "\"catalog-" + epoch + "-" + version + "\"";
+    }
+
+    /**
+     * ETag de uma visão derivada deste snapshot (filtro, ordenação, página), identificada por {@code variant}.
+     */
+    public String eTag(String variant) {
+        return "\"catalog-" + epoch + "-" + version + "-" + variant + "\"";
+    }
+
+    /**
+     * Devolve até {@code limit} filmes na ordem pedida, começando depois do cursor (ou do início
+     * quando ele é nulo). A posição do cursor é achada por busca binária no índice ordenado.
+     */
+    public FilmPage page(FilmSort sort, boolean descending, FilmCursor after, int limit) {
+        return page(FilmFilter.NONE, sort, descending, after, limit);
+    }
+
+    /**
+     * Como {@link #page(FilmSort, boolean, FilmCursor, int)}, mas só com os filmes que atendem ao filtro.
+     * Os candidatos vêm dos índices secundários e só eles são ordenados.
+     */
+    public FilmPage page(FilmFilter filter, FilmSort sort, boolean descending, FilmCursor after, int limit) {
+        if (after != null && (after.sort() != sort || after.descending() != descending)) {
+            throw new InvalidQueryException("O cursor foi gerado para outra ordenação");
+        }
+
+        List<Film> index = filter.isEmpty() ? sortedFilms.get(sort) : matching(filter, sort);
+        int size = index.size();
+        int position;
+        if (after == null) {
+            position = descending ? size - 1 : 0;
+        } else {
+            int found = Collections.binarySearch(index, after.probe(), sort.comparator());
+            int insertion = found >= 0 ? found : -found - 1;
+            if (descending) {
+                position = insertion - 1;
+            } else {
+                position = found >= 0 ? found + 1 : insertion;
+            }
+        }
+
+        List<Film> page = new ArrayList<>(Math.min(limit, size));
+        int step = descending ? -1 : 1;
+        while (page.size() < limit && position >= 0 && position < size) {
+            page.add(index.get(position));
+            position += step;
+        }
+
+        boolean hasMore = position >= 0 && position < size;
+        String nextCursor = hasMore && !page.isEmpty()
+                ? FilmCursor.after(sort, descending, page.get(page.size() - 1)).encode()
+                : null;
+        return new FilmPage(page, nextCursor);
+    }
+
+    /**
+     * Busca textual com ranking BM25 em título, opening crawl e descrição personalizada.
+     */
+    public List<FilmSearchHit> search(String query, int limit) {
+        List<FilmSearchHit> hits = new ArrayList<>();
+        for (FilmSearchIndex.Hit hit : searchIndex.search(query, limit)) {
+            Film film = filmOf(hit.episodeId());
+            if (film != null) {
+                hits.add(new FilmSearchHit(film, hit.score()));
+            }
+        }
+        return hits;
+    }
+
+    private List<Film> matching(FilmFilter filter, FilmSort sort) {
+        int[] episodes = this.index.match(filter);
+        List<Film> matches = new ArrayList<>(episodes.length);
+        for (int episodeId : episodes) {
+            Film film = filmOf(episodeId);
+            if (film != null) {
+                matches.add(film);
+            }
+        }
+        if (sort != FilmSort.EPISODE) {
+            matches.sort(sort.comparator());
+        }
+        return matches;
+    }
+
+    private Film filmOf(int episodeId) {
+        // o índice foi montado a partir da mesma lista, então as posições coincidem
+        List<Film> byEpisode = sortedFilms.get(FilmSort.EPISODE);
+        int position = this.index.positionOf(episodeId);
+        if (position >= 0 && position < byEpisode.size() && byEpisode.get(position).getEpisodeId() == episodeId) {
+            return byEpisode.get(position);
+        }
+        return null;
+    }
+
+    private static List<Film> merge(List<Film> current, Set<Integer> replaced, List<Film> replacements,
+                                    Comparator<Film> comparator) {
+        List<Film> merged = new ArrayList<>(current.size() + replacements.size());
+        int next = 0;
+        for (Film film : current) {
+            if (replaced.contains(film.getEpisodeId())) {
+                continue;
+            }
+            while (next < replacements.size() && comparator.compare(replacements.get(next), film) < 0) {
+                merged.add(replacements.get(next++));
+            }
+            merged.add(film);
+        }
+        merged.addAll(replacements.subList(next, replacements.size()));
+        return merged;
+    }
+
+    private static Map<FilmSort, List<Film>> sort(List<Film> films) {
+        Map<FilmSort, List<Film>> sorted = new EnumMap<>(FilmSort.class);
+        for (FilmSort sort : FilmSort.values()) {
+            List<Film> index = new ArrayList<>(films);
+            index.sort(sort.comparator());
+            sorted.put(sort, List.copyOf(index));
+        }
+        return sorted;
+    }
+}
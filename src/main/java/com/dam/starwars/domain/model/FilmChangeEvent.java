@@ -0,0 +1,27 @@
+package com.dam.starwars.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public record FilmChangeEvent(
+        @JsonProperty("episode_id") int episodeId,
+        int version,
+        int revision,
+        Set<String> changed
+) {
+
+    public FilmChangeEvent {
+        // mantém a ordem de inserção, para o JSON do evento sair sempre igual
+        changed = Collections.unmodifiableSet(new LinkedHashSet<>(changed));
+    }
+
+    public FilmChangeEvent mergedWith(FilmChangeEvent newer) {
+        Set<String> fields = new LinkedHashSet<>(changed);
+        fields.addAll(newer.changed());
+        return new FilmChangeEvent(episodeId, Math.max(version, newer.version()),
+                Math.max(revision, newer.revision()), fields);
+    }
+}
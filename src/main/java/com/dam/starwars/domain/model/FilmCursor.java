@@ -0,0 +1,41 @@
+package com.dam.starwars.domain.model;
+
+import com.dam.starwars.common.exception.InvalidQueryException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco da listagem: guarda a ordenação e a chave do último filme entregue, e não
+ * uma posição. Assim a página seguinte continua correta mesmo que o catálogo mude entre as chamadas.
+ */
+public record FilmCursor(FilmSort sort, boolean descending, String key, int episodeId) {
+
+    private static final String SEPARATOR = "|";
+
+    public static FilmCursor after(FilmSort sort, boolean descending, Film last) {
+        return new FilmCursor(sort, descending, sort.keyOf(last), last.getEpisodeId());
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + (descending ? "d" : "a") + SEPARATOR + episodeId + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FilmCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            FilmCursor cursor = new FilmCursor(FilmSort.valueOf(parts[0]), "d".equals(parts[1]),
+                    parts[3], Integer.parseInt(parts[2]));
+            cursor.probe();
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new InvalidQueryException("Cursor inválido: " + value);
+        }
+    }
+
+    Film probe() {
+        return sort.probe(key, episodeId);
+    }
+}
@@ -0,0 +1,55 @@
+package com.dam.starwars.domain.model;
+
+import com.dam.starwars.common.exception.InvalidQueryException;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+/**
+ * Filtros da listagem. Diretor e produtor casam quando o filme contém todos os termos informados,
+ * sem diferenciar maiúsculas; o ano aceita um valor único ({@code 1977}) ou um intervalo
+ * fechado ({@code 1977..1983}). Campos nulos não filtram.
+ */
+public record FilmFilter(String director, String producer, Integer fromYear, Integer toYear) {
+
+    public static final FilmFilter NONE = new FilmFilter(null, null, null, null);
+
+    private static final String RANGE = "..";
+
+    public static FilmFilter of(String director, String producer, String year) {
+        Integer fromYear = null;
+        Integer toYear = null;
+        if (year != null) {
+            int range = year.indexOf(RANGE);
+            try {
+                fromYear = Integer.valueOf(year.substring(0, range < 0 ? year.length() : range).trim());
+                toYear = range < 0 ? fromYear : Integer.valueOf(year.substring(range + RANGE.length()).trim());
+            } catch (NumberFormatException e) {
+                throw new InvalidQueryException("Ano inválido: " + year + ". Use 1977 ou 1977..1983");
+            }
+            if (fromYear < Year.MIN_VALUE || toYear > Year.MAX_VALUE) {
+                throw new InvalidQueryException("Ano fora do intervalo suportado: " + year);
+            }
+            if (fromYear > toYear) {
+                throw new InvalidQueryException("Intervalo de anos invertido: " + year);
+            }
+        }
+        return new FilmFilter(blankToNull(director), blankToNull(producer), fromYear, toYear);
+    }
+
+    public boolean isEmpty() {
+        return director == null && producer == null && fromYear == null;
+    }
+
+    long fromEpochDay() {
+        return LocalDate.of(fromYear, 1, 1).toEpochDay();
+    }
+
+    long toEpochDay() {
+        return LocalDate.of(toYear, 12, 31).toEpochDay();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,263 @@
+package com.dam.starwars.domain.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Índices secundários imutáveis do catálogo: listas invertidas dos termos de diretor e produtor
+ * e um array ordenado das datas de lançamento. As consultas devolvem os episódios em ordem
+ * crescente e nunca percorrem o catálogo inteiro.
+ */
+public final class FilmIndex {
+
+    public static final FilmIndex EMPTY = new FilmIndex(Map.of(), new int[0], Map.of(), Map.of(), new long[0]);
+
+    private static final int[] NONE = new int[0];
+    private static final long EPISODE_MASK = 0xFFFFFFFFL;
+    // acima dessa proporção entre as listas, a interseção busca os elementos da menor na maior
+    private static final int PROBE_RATIO = 8;
+
+    private final Map<Integer, Entry> entries;
+    private final int[] episodes;
+    private final Map<String, int[]> directorTerms;
+    private final Map<String, int[]> producerTerms;
+    // (dia epoch << 32 | episódio), ordenado: a faixa de datas vira duas buscas binárias
+    private final long[] releaseDays;
+
+    private FilmIndex(Map<Integer, Entry> entries, int[] episodes, Map<String, int[]> directorTerms,
+                      Map<String, int[]> producerTerms, long[] releaseDays) {
+        this.entries = entries;
+        this.episodes = episodes;
+        this.directorTerms = directorTerms;
+        this.producerTerms = producerTerms;
+        this.releaseDays = releaseDays;
+    }
+
+    /**
+     * Devolve o índice do catálogo informado. Só os filmes cujo diretor, produtor ou data mudaram
+     * mexem nas listas invertidas; sem mudanças, devolve a própria instância.
+     */
+    public FilmIndex update(Collection<Film> films) {
+        Map<Integer, Entry> current = new HashMap<>();
+        for (Film film : films) {
+            current.put(film.getEpisodeId(), Entry.of(film));
+        }
+        return current.equals(entries) ? this : rebuild(current);
+    }
+
+    /**
+     * Como {@link #update(Collection)}, mas recebe só os filmes alterados ou incluídos. Quando
+     * nenhum deles mudou diretor, produtor ou data, devolve a própria instância sem copiar nada.
+     */
+    public FilmIndex with(Collection<Film> changed) {
+        Map<Integer, Entry> current = null;
+        for (Film film : changed) {
+            Entry entry = Entry.of(film);
+            if (!entry.equals(entries.get(film.getEpisodeId()))) {
+                if (current == null) {
+                    current = new HashMap<>(entries);
+                }
+                current.put(film.getEpisodeId(), entry);
+            }
+        }
+        return current == null ? this : rebuild(current);
+    }
+
+    private FilmIndex rebuild(Map<Integer, Entry> current) {
+
+        Set<Integer> changed = new HashSet<>();
+        boolean datesChanged = false;
+        for (Map.Entry<Integer, Entry> next : current.entrySet()) {
+            Entry previous = entries.get(next.getKey());
+            if (!next.getValue().equals(previous)) {
+                changed.add(next.getKey());
+                datesChanged |= previous == null || !Objects.equals(previous.releaseDate(), next.getValue().releaseDate());
+            }
+        }
+        for (Integer episodeId : entries.keySet()) {
+            if (!current.containsKey(episodeId)) {
+                changed.add(episodeId);
+                datesChanged = true;
+            }
+        }
+
+        return new FilmIndex(Map.copyOf(current),
+                current.keySet().stream().mapToInt(Integer::intValue).sorted().toArray(),
+                reindex(directorTerms, entries, current, changed, Entry::director),
+                reindex(producerTerms, entries, current, changed, Entry::producer),
+                datesChanged ? releaseDays(current) : releaseDays);
+    }
+
+    /**
+     * Episódios que atendem a todos os filtros, em ordem crescente. O array pode ser o próprio
+     * array do índice e não deve ser alterado.
+     */
+    int[] match(FilmFilter filter) {
+        List<int[]> candidates = new ArrayList<>();
+        if (filter.director() != null) {
+            addTermPostings(candidates, directorTerms, filter.director());
+        }
+        if (filter.producer() != null) {
+            addTermPostings(candidates, producerTerms, filter.producer());
+        }
+        if (filter.fromYear() != null) {
+            candidates.add(releasedBetween(filter.fromEpochDay(), filter.toEpochDay()));
+        }
+        if (candidates.isEmpty()) {
+            return episodes;
+        }
+
+        // começa pela lista mais seletiva, assim as demais só são consultadas por busca binária
+        candidates.sort(Comparator.comparingInt(postings -> postings.length));
+        int[] result = candidates.get(0);
+        for (int i = 1; i < candidates.size() && result.length > 0; i++) {
+            result = intersect(result, candidates.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Posição do episódio na lista do catálogo ordenada por episódio, ou negativa quando ele não existe.
+     */
+    int positionOf(int episodeId) {
+        return Arrays.binarySearch(episodes, episodeId);
+    }
+
+    static Set<String> terms(String value) {
+        return new LinkedHashSet<>(Tokenizer.tokens(value));
+    }
+
+    private static void addTermPostings(List<int[]> candidates, Map<String, int[]> index, String query) {
+        Set<String> terms = terms(query);
+        if (terms.isEmpty()) {
+            candidates.add(NONE);
+        }
+        for (String term : terms) {
+            candidates.add(index.getOrDefault(term, NONE));
+        }
+    }
+
+    private int[] releasedBetween(long fromEpochDay, long toEpochDay) {
+        long from = Math.max(fromEpochDay, Integer.MIN_VALUE) << 32;
+        long to = (Math.min(toEpochDay, Integer.MAX_VALUE) << 32) | EPISODE_MASK;
+        int start = Arrays.binarySearch(releaseDays, from);
+        start = start >= 0 ? start : -start - 1;
+        int end = Arrays.binarySearch(releaseDays, to);
+        end = end >= 0 ? end + 1 : -end - 1;
+        if (start >= end) {
+            return NONE;
+        }
+
+        int[] episodes = new int[end - start];
+        for (int i = start; i < end; i++) {
+            episodes[i - start] = (int) releaseDays[i];
+        }
+        Arrays.sort(episodes);
+        return episodes;
+    }
+
+    private static long[] releaseDays(Map<Integer, Entry> entries) {
+        return entries.entrySet().stream()
+                .filter(entry -> entry.getValue().releaseDate() != null)
+                .mapToLong(entry -> (entry.getValue().releaseDate().toEpochDay() << 32)
+                        | (entry.getKey() & EPISODE_MASK))
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Reescreve apenas as listas dos termos que entraram ou saíram em algum filme alterado.
+     */
+    private static Map<String, int[]> reindex(Map<String, int[]> index, Map<Integer, Entry> previous,
+                                              Map<Integer, Entry> current, Set<Integer> changed,
+                                              Function<Entry, String> field) {
+        Map<String, Set<Integer>> removed = new HashMap<>();
+        Map<String, List<Integer>> added = new HashMap<>();
+        for (Integer episodeId : changed) {
+            String before = previous.containsKey(episodeId) ? field.apply(previous.get(episodeId)) : null;
+            String after = current.containsKey(episodeId) ? field.apply(current.get(episodeId)) : null;
+            if (Objects.equals(before, after)) {
+                continue;
+            }
+            for (String term : terms(before)) {
+                removed.computeIfAbsent(term, key -> new HashSet<>()).add(episodeId);
+            }
+            for (String term : terms(after)) {
+                added.computeIfAbsent(term, key -> new ArrayList<>()).add(episodeId);
+            }
+        }
+        if (removed.isEmpty() && added.isEmpty()) {
+            return index;
+        }
+
+        Map<String, int[]> updated = new HashMap<>(index);
+        Set<String> affected = new HashSet<>(removed.keySet());
+        affected.addAll(added.keySet());
+        for (String term : affected) {
+            Set<Integer> gone = removed.getOrDefault(term, Set.of());
+            int[] postings = IntStream.concat(
+                            Arrays.stream(index.getOrDefault(term, NONE)).filter(episodeId -> !gone.contains(episodeId)),
+                            added.getOrDefault(term, List.of()).stream().mapToInt(Integer::intValue))
+                    .sorted()
+                    .distinct()
+                    .toArray();
+            if (postings.length == 0) {
+                updated.remove(term);
+            } else {
+                updated.put(term, postings);
+            }
+        }
+        return Map.copyOf(updated);
+    }
+
+    private static int[] intersect(int[] smaller, int[] larger) {
+        int[] result = new int[smaller.length];
+        int size = 0;
+        if ((long) smaller.length * PROBE_RATIO < larger.length) {
+            int from = 0;
+            for (int episodeId : smaller) {
+                int position = Arrays.binarySearch(larger, from, larger.length, episodeId);
+                if (position >= 0) {
+                    result[size++] = episodeId;
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+            }
+        } else {
+            int j = 0;
+            for (int i = 0; i < smaller.length && j < larger.length; ) {
+                if (smaller[i] < larger[j]) {
+                    i++;
+                } else if (smaller[i] > larger[j]) {
+                    j++;
+                } else {
+                    result[size++] = smaller[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private record Entry(String director, String producer, LocalDate releaseDate) {
+
+        static Entry of(Film film) {
+            return new Entry(film.getDirector(), film.getProducer(),
+                    film.hasReleaseDate() ? LocalDate.ofEpochDay(film.getReleaseEpochDay()) : null);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.dam.starwars.domain.model;
+
+import java.util.List;
+
+/**
+ * Uma página da listagem; {@code nextCursor} é nulo na última página.
+ */
+public record FilmPage(List<Film> films, String nextCursor) {
+}
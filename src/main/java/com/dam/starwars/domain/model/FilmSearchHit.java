@@ -0,0 +1,7 @@
+package com.dam.starwars.domain.model;
+
+/**
+ * Resultado da busca textual: o filme e o score BM25 da consulta.
+ */
+public record FilmSearchHit(Film film, double score) {
+}
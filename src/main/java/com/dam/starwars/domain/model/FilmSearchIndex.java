@@ -0,0 +1,245 @@
+package com.dam.starwars.domain.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Índice invertido imutável para a busca textual em título, opening crawl e descrição personalizada,
+ * com ranking BM25. Cada termo guarda arrays primitivos ordenados por episódio com a frequência do
+ * termo e o tamanho do documento, e a consulta não precisa de nenhum outro mapa.
+ */
+public final class FilmSearchIndex {
+
+    public static final FilmSearchIndex EMPTY = new FilmSearchIndex(Map.of(), Map.of(), 0);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<Integer, Document> documents;
+    private final Map<String, Postings> postings;
+    private final long totalLength;
+
+    private FilmSearchIndex(Map<Integer, Document> documents, Map<String, Postings> postings, long totalLength) {
+        this.documents = documents;
+        this.postings = postings;
+        this.totalLength = totalLength;
+    }
+
+    /**
+     * Devolve o índice com os filmes informados (re)indexados. Filmes cujo texto não mudou são
+     * ignorados e só as listas dos termos que entraram ou saíram de algum documento são reescritas.
+     */
+    public FilmSearchIndex with(Collection<Film> films) {
+        Map<Integer, Document> changed = new HashMap<>();
+        for (Film film : films) {
+            Document current = documents.get(film.getEpisodeId());
+            if (current == null || !current.sameText(film)) {
+                changed.put(film.getEpisodeId(), Document.of(film));
+            }
+        }
+        if (changed.isEmpty()) {
+            return this;
+        }
+
+        Map<String, Set<Integer>> removed = new HashMap<>();
+        Map<String, List<int[]>> added = new HashMap<>();
+        long length = totalLength;
+        for (Map.Entry<Integer, Document> entry : changed.entrySet()) {
+            int episodeId = entry.getKey();
+            Document previous = documents.get(episodeId);
+            if (previous != null) {
+                length -= previous.length();
+                for (String term : previous.terms()) {
+                    removed.computeIfAbsent(term, key -> new HashSet<>()).add(episodeId);
+                }
+            }
+            Document next = entry.getValue();
+            length += next.length();
+            for (int i = 0; i < next.terms().length; i++) {
+                added.computeIfAbsent(next.terms()[i], key -> new ArrayList<>())
+                        .add(new int[]{episodeId, next.frequencies()[i], next.length()});
+            }
+        }
+
+        Map<String, Postings> updatedPostings = new HashMap<>(postings);
+        Set<String> affected = new HashSet<>(removed.keySet());
+        affected.addAll(added.keySet());
+        for (String term : affected) {
+            Postings rebuilt = Postings.rebuild(postings.get(term), removed.getOrDefault(term, Set.of()),
+                    added.getOrDefault(term, List.of()));
+            if (rebuilt == null) {
+                updatedPostings.remove(term);
+            } else {
+                updatedPostings.put(term, rebuilt);
+            }
+        }
+        Map<Integer, Document> updatedDocuments = new HashMap<>(documents);
+        updatedDocuments.putAll(changed);
+
+        return new FilmSearchIndex(Collections.unmodifiableMap(updatedDocuments),
+                Collections.unmodifiableMap(updatedPostings), length);
+    }
+
+    /**
+     * Os {@code limit} episódios mais relevantes para a consulta, do maior para o menor score.
+     * As listas dos termos são percorridas juntas, em ordem de episódio, sem mapa de acumuladores.
+     */
+    public List<Hit> search(String query, int limit) {
+        List<Postings> lists = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(Tokenizer.tokens(query))) {
+            Postings termPostings = postings.get(term);
+            if (termPostings != null) {
+                lists.add(termPostings);
+            }
+        }
+        if (lists.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int documentCount = documents.size();
+        double[] idfs = new double[lists.size()];
+        for (int i = 0; i < idfs.length; i++) {
+            int df = lists.get(i).episodes().length;
+            idfs[i] = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+        }
+
+        double averageLength = (double) totalLength / documentCount;
+        int[] cursors = new int[lists.size()];
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparingInt(Hit::episodeId);
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, ranking.reversed());
+        while (true) {
+            int episodeId = Integer.MAX_VALUE;
+            boolean remaining = false;
+            for (int i = 0; i < lists.size(); i++) {
+                int[] episodes = lists.get(i).episodes();
+                if (cursors[i] < episodes.length) {
+                    remaining = true;
+                    episodeId = Math.min(episodeId, episodes[cursors[i]]);
+                }
+            }
+            if (!remaining) {
+                break;
+            }
+
+            double score = 0;
+            for (int i = 0; i < lists.size(); i++) {
+                Postings termPostings = lists.get(i);
+                int position = cursors[i];
+                if (position < termPostings.episodes().length && termPostings.episodes()[position] == episodeId) {
+                    double frequency = termPostings.frequencies()[position];
+                    double norm = K1 * (1 - B + B * termPostings.lengths()[position] / averageLength);
+                    score += idfs[i] * frequency * (K1 + 1) / (frequency + norm);
+                    cursors[i]++;
+                }
+            }
+
+            if (top.size() < limit) {
+                top.add(new Hit(episodeId, score));
+            } else if (score > top.peek().score()
+                    || score == top.peek().score() && episodeId < top.peek().episodeId()) {
+                top.poll();
+                top.add(new Hit(episodeId, score));
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(ranking);
+        return hits;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public record Hit(int episodeId, double score) {
+    }
+
+    private record Document(String title, String openingCrawl, String customDescription, int length,
+                            String[] terms, int[] frequencies) {
+
+        static Document of(Film film) {
+            List<String> tokens = Tokenizer.tokens(film.getTitle());
+            tokens.addAll(Tokenizer.tokens(film.getOpeningCrawl()));
+            tokens.addAll(Tokenizer.tokens(film.getCustomDescription()));
+
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : tokens) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            String[] terms = frequencies.keySet().toArray(String[]::new);
+            int[] counts = new int[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                counts[i] = frequencies.get(terms[i]);
+            }
+            return new Document(film.getTitle(), film.getOpeningCrawl(), film.getCustomDescription(),
+                    tokens.size(), terms, counts);
+        }
+
+        boolean sameText(Film film) {
+            return Objects.equals(title, film.getTitle())
+                    && Objects.equals(openingCrawl, film.getOpeningCrawl())
+                    && Objects.equals(customDescription, film.getCustomDescription());
+        }
+    }
+
+    private record Postings(int[] episodes, int[] frequencies, int[] lengths) {
+
+        /**
+         * Nova lista do termo: a atual sem os episódios removidos, mais os adicionados
+         * ({@code [episódio, frequência, tamanho]}), em ordem de episódio. Nula quando fica vazia.
+         */
+        static Postings rebuild(Postings current, Set<Integer> removed, List<int[]> added) {
+            List<int[]> additions = new ArrayList<>(added);
+            additions.sort(Comparator.comparingInt(entry -> entry[0]));
+            int[] removedEpisodes = removed.stream().mapToInt(Integer::intValue).sorted().toArray();
+            int currentSize = current != null ? current.episodes.length : 0;
+
+            int[] episodes = new int[currentSize + additions.size()];
+            int[] frequencies = new int[episodes.length];
+            int[] lengths = new int[episodes.length];
+            int size = 0;
+            int next = 0;
+            int skip = 0;
+            for (int i = 0; i < currentSize; i++) {
+                int episodeId = current.episodes[i];
+                while (skip < removedEpisodes.length && removedEpisodes[skip] < episodeId) {
+                    skip++;
+                }
+                if (skip < removedEpisodes.length && removedEpisodes[skip] == episodeId) {
+                    continue;
+                }
+                for (; next < additions.size() && additions.get(next)[0] < episodeId; next++, size++) {
+                    episodes[size] = additions.get(next)[0];
+                    frequencies[size] = additions.get(next)[1];
+                    lengths[size] = additions.get(next)[2];
+                }
+                episodes[size] = episodeId;
+                frequencies[size] = current.frequencies[i];
+                lengths[size] = current.lengths[i];
+                size++;
+            }
+            for (; next < additions.size(); next++, size++) {
+                episodes[size] = additions.get(next)[0];
+                frequencies[size] = additions.get(next)[1];
+                lengths[size] = additions.get(next)[2];
+            }
+            if (size == 0) {
+                return null;
+            }
+            return new Postings(Arrays.copyOf(episodes, size), Arrays.copyOf(frequencies, size),
+                    Arrays.copyOf(lengths, size));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.dam.starwars.domain.model;
+
+import com.dam.starwars.common.exception.InvalidQueryException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Ordenações disponíveis na listagem de filmes. Toda ordenação desempata pelo episódio,
+ * então a posição de cada filme é única e serve de chave para a paginação por cursor.
+ */
+public enum FilmSort {
+
+    EPISODE("episode", Comparator.comparingInt(Film::getEpisodeId)),
+    // sem data de lançamento vai para o fim, como o nullsLast das demais ordenações
+    RELEASE_DATE("release_date", Comparator.comparingLong(
+            film -> film.hasReleaseDate() ? film.getReleaseEpochDay() : Long.MAX_VALUE)),
+    LAST_MODIFIED("lastModified", Comparator.comparing(Film::getLastModified,
+            Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder())));
+
+    private final String parameter;
+    private final Comparator<Film> comparator;
+
+    FilmSort(String parameter, Comparator<Film> key) {
+        this.parameter = parameter;
+        this.comparator = key.thenComparingInt(Film::getEpisodeId);
+    }
+
+    public String parameter() {
+        return parameter;
+    }
+
+    public Comparator<Film> comparator() {
+        return comparator;
+    }
+
+    public static FilmSort fromParameter(String value) {
+        for (FilmSort sort : values()) {
+            if (sort.parameter.equals(value)) {
+                return sort;
+            }
+        }
+        throw new InvalidQueryException("Ordenação inválida: " + value
+                + ". Use episode, release_date ou lastModified, com '-' para ordem decrescente");
+    }
+
+    String keyOf(Film film) {
+        return switch (this) {
+            case EPISODE -> "";
+            case RELEASE_DATE -> film.hasReleaseDate() ? LocalDate.ofEpochDay(film.getReleaseEpochDay()).toString() : "";
+            case LAST_MODIFIED -> film.getLastModified() != null ? film.getLastModified().toString() : "";
+        };
+    }
+
+    /**
+     * Monta um filme fictício com a mesma chave de ordenação, usado na busca binária do cursor.
+     */
+    Film probe(String key, int episodeId) {
+        return switch (this) {
+            case EPISODE -> probe(episodeId, null, null);
+            case RELEASE_DATE -> probe(episodeId, key.isEmpty() ? null : LocalDate.parse(key), null);
+            case LAST_MODIFIED -> probe(episodeId, null, key.isEmpty() ? null : LocalDateTime.parse(key));
+        };
+    }
+
+    private static Film probe(int episodeId, LocalDate releaseDate, LocalDateTime lastModified) {
+        Film probe = new Film(null, episodeId, null);
+        probe.setReleaseDate(releaseDate != null ? releaseDate.toString() : null);
+        probe.setLastModified(lastModified);
+        return probe;
+    }
+}
@@ -0,0 +1,65 @@
+package com.dam.starwars.domain.model;
+
+/**
+ * Normaliza o texto de abertura em uma única passada, sem regex: colapsa sequências
+ * de espaços em branco ({@code \s}) em um espaço, remove as bordas como {@link String#trim()}
+ * e trunca com "..." quando passa do limite.
+ */
+final class OpeningCrawlNormalizer {
+
+    private static final String ELLIPSIS = "...";
+
+    private OpeningCrawlNormalizer() {
+    }
+
+    static String normalize(String text, int maxLength) {
+        if (text == null) {
+            return null;
+        }
+
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+
+        char[] buffer = new char[Math.min(end - start, maxLength)];
+        int length = 0;
+        boolean inWhitespace = false;
+        boolean modified = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (isWhitespace(c)) {
+                if (inWhitespace) {
+                    modified = true;
+                    continue;
+                }
+                inWhitespace = true;
+                modified |= c != ' ';
+                c = ' ';
+            } else {
+                inWhitespace = false;
+            }
+
+            if (length == maxLength) {
+                int keep = maxLength - ELLIPSIS.length();
+                ELLIPSIS.getChars(0, ELLIPSIS.length(), buffer, keep);
+                return new String(buffer, 0, maxLength);
+            }
+            buffer[length++] = c;
+        }
+
+        return modified ? new String(buffer, 0, length) : text.substring(start, end);
+    }
+
+    // mesmo conjunto do \s do java.util.regex sem UNICODE_CHARACTER_CLASS
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,152 @@
+package com.dam.starwars.domain.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de URLs de recursos da SWAPI guardada como um prefixo compartilhado e um
+ * {@code int[]} de ids. As URLs só são remontadas quando alguém lê um elemento; na
+ * serialização JSON elas são escritas direto de um buffer, sem criar Strings.
+ */
+@JsonSerialize(using = ResourceIdList.Serializer.class)
+public final class ResourceIdList extends AbstractList<String> implements RandomAccess {
+
+    // tabela de prefixos ("https://swapi.dev/api/people/"): cada prefixo existe uma única vez no heap
+    private static final Map<String, String> PREFIXES = new ConcurrentHashMap<>();
+
+    private static final int MAX_ID_DIGITS = 9;
+
+    private final String prefix;
+    private final int[] ids;
+
+    private ResourceIdList(String prefix, int[] ids) {
+        this.prefix = prefix;
+        this.ids = ids;
+    }
+
+    /**
+     * Compacta a lista quando todas as URLs seguem o formato {@code <prefixo><id>/} com o
+     * mesmo prefixo. Caso contrário devolve a lista original, sem alteração.
+     */
+    public static List<String> of(List<String> urls) {
+        if (urls == null || urls.isEmpty() || urls instanceof ResourceIdList) {
+            return urls;
+        }
+
+        String prefix = null;
+        int[] ids = new int[urls.size()];
+        for (int i = 0; i < ids.length; i++) {
+            String url = urls.get(i);
+            int prefixLength = prefixLength(url);
+            if (prefixLength < 0) {
+                return urls;
+            }
+            if (prefix == null) {
+                prefix = PREFIXES.computeIfAbsent(url.substring(0, prefixLength), key -> key);
+            } else if (prefixLength != prefix.length() || !url.startsWith(prefix)) {
+                return urls;
+            }
+            ids[i] = Integer.parseInt(url, prefixLength, url.length() - 1, 10);
+        }
+        return new ResourceIdList(prefix, ids);
+    }
+
+    public String prefix() {
+        return prefix;
+    }
+
+    public int id(int index) {
+        return ids[index];
+    }
+
+    @Override
+    public String get(int index) {
+        return prefix + ids[index] + "/";
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof ResourceIdList list) {
+            return prefix.equals(list.prefix) && Arrays.equals(ids, list.ids);
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    /**
+     * Tamanho do prefixo quando a URL termina em {@code /<id>/}, ou -1 se não terminar.
+     * Ids com zero à esquerda não são aceitos porque não seriam remontados iguais.
+     */
+    private static int prefixLength(String url) {
+        if (url == null || url.length() < 3 || url.charAt(url.length() - 1) != '/') {
+            return -1;
+        }
+
+        int end = url.length() - 1;
+        int start = end;
+        while (start > 0 && url.charAt(start - 1) >= '0' && url.charAt(start - 1) <= '9') {
+            start--;
+        }
+        int digits = end - start;
+        if (digits == 0 || digits > MAX_ID_DIGITS || start == 0 || url.charAt(start - 1) != '/'
+                || (digits > 1 && url.charAt(start) == '0')) {
+            return -1;
+        }
+        return start;
+    }
+
+    static final class Serializer extends StdSerializer<ResourceIdList> {
+
+        Serializer() {
+            super(ResourceIdList.class);
+        }
+
+        @Override
+        public void serialize(ResourceIdList list, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            int prefixLength = list.prefix.length();
+            char[] buffer = new char[prefixLength + MAX_ID_DIGITS + 1];
+            list.prefix.getChars(0, prefixLength, buffer, 0);
+
+            generator.writeStartArray(list, list.ids.length);
+            for (int id : list.ids) {
+                int end = prefixLength + digitCount(id);
+                int position = end;
+                for (int value = id; position > prefixLength; value /= 10) {
+                    buffer[--position] = (char) ('0' + value % 10);
+                }
+                buffer[end] = '/';
+                generator.writeString(buffer, 0, end + 1);
+            }
+            generator.writeEndArray();
+        }
+
+        private static int digitCount(int value) {
+            int digits = 1;
+            while (value >= 10) {
+                value /= 10;
+                digits++;
+            }
+            return digits;
+        }
+    }
+}
@@ -3,8 +3,26 @@ package com.dam.starwars.domain.model;
 import java.util.List;
 
 public class SwapiFilm {
+    private Integer count;
+    private String next;
     private List<Film> results;
 
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+
     public List<Film> getResults() {
         return results;
     }
@@ -0,0 +1,30 @@
+package com.dam.starwars.domain.model;
+
+public class SwapiResource {
+    private String name;
+    private String url;
+
+    public SwapiResource() {
+    }
+
+    public SwapiResource(String name, String url) {
+        this.name = name;
+        this.url = url;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+}
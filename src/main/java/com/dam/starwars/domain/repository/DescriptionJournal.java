@@ -0,0 +1,431 @@
+package com.dam.starwars.domain.repository;
+
+import com.dam.starwars.domain.model.DescriptionChange;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Journal append-only das alterações de descrição. Um único thread grava as
+ * entradas pendentes em lote e faz um só fsync por lote (group commit), então
+ * rajadas de PUTs concorrentes dividem o custo da sincronização com o disco.
+ * <p>
+ * As entradas ficam em segmentos numerados por geração ({@code <path>.<geração>}). Antes de
+ * capturar o estado para um snapshot, o chamador abre um segmento novo com {@link #rotate()};
+ * depois que o snapshot é gravado, os segmentos anteriores estão todos cobertos por ele e são
+ * apagados inteiros com {@link #deleteSegmentsBefore(long)}, sem reescrever nenhuma entrada.
+ */
+@Repository
+public class DescriptionJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(DescriptionJournal.class);
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final Object SHUTDOWN = new Object();
+
+    private final Path journalPath;
+    private final boolean enabled;
+    private final long compactionThreshold;
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+
+    private FileChannel channel;
+    // segmento ativo; 0 até o primeiro acesso ao disco descobrir o último segmento existente
+    private long generation;
+    private volatile long size;
+    // falha de gravação que não pôde ser desfeita; a partir dela o journal recusa novas entradas
+    private volatile IOException failure;
+
+    public DescriptionJournal(@Value("${catalog.journal.path:data/descriptions.journal}") Path journalPath,
+                              @Value("${catalog.journal.enabled:true}") boolean enabled,
+                              @Value("${catalog.journal.compaction-threshold:1048576}") long compactionThreshold) {
+        this.journalPath = journalPath;
+        this.enabled = enabled;
+        this.compactionThreshold = compactionThreshold;
+        this.committer = new Thread(this::commitLoop, "description-journal");
+        this.committer.setDaemon(true);
+        if (enabled) {
+            committer.start();
+        }
+    }
+
+    public CompletableFuture<Void> append(DescriptionChange change) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (failure != null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+
+        PendingAppend pending = new PendingAppend(encode(change), new CompletableFuture<>());
+        queue.add(pending);
+        return pending.durable();
+    }
+
+    /**
+     * Lê todas as entradas válidas do journal, segmento por segmento, em ordem de geração. Uma
+     * entrada final incompleta ou corrompida (crash no meio da escrita) é descartada e o segmento
+     * é truncado nela.
+     */
+    public synchronized List<DescriptionChange> replay() {
+        List<DescriptionChange> changes = new ArrayList<>();
+        if (!enabled) {
+            return changes;
+        }
+
+        long total = 0;
+        try {
+            for (long segment : segments()) {
+                total += replaySegment(segmentPath(segment), changes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o journal de descrições " + journalPath, e);
+        }
+        size = total;
+
+        logger.info("Journal de descrições reproduzido com {} entradas", changes.size());
+        return changes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Bytes gravados em todos os segmentos ainda não apagados.
+     */
+    public long size() {
+        return size;
+    }
+
+    public boolean needsCompaction() {
+        return enabled && size >= compactionThreshold;
+    }
+
+    /**
+     * Fecha o segmento ativo e passa a gravar num segmento novo, devolvendo a geração dele. Toda
+     * entrada confirmada antes da chamada fica em um segmento anterior. Se o segmento ativo ainda
+     * está vazio, ele é mantido e a geração devolvida é a dele.
+     */
+    public CompletableFuture<Long> rotate() {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(0L);
+        }
+
+        Rotation rotation = new Rotation(new CompletableFuture<>());
+        queue.add(rotation);
+        return rotation.generation();
+    }
+
+    /**
+     * Apaga os segmentos anteriores à geração informada, já incorporados a um snapshot.
+     * Executado no mesmo thread das gravações para não competir com o group commit.
+     */
+    public CompletableFuture<Void> deleteSegmentsBefore(long generation) {
+        if (!enabled || generation <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        SegmentDeletion deletion = new SegmentDeletion(generation, new CompletableFuture<>());
+        queue.add(deletion);
+        return deletion.done();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        queue.add(SHUTDOWN);
+        committer.join(5_000);
+    }
+
+    private void commitLoop() {
+        List<Object> batch = new ArrayList<>();
+        boolean running = true;
+        try {
+            while (running) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                running = process(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeChannel();
+        }
+    }
+
+    private boolean process(List<Object> batch) {
+        List<PendingAppend> appends = new ArrayList<>();
+        boolean running = true;
+        for (Object item : batch) {
+            if (item instanceof PendingAppend pending) {
+                appends.add(pending);
+            } else if (item instanceof Rotation rotation) {
+                flush(appends);
+                appends.clear();
+                runRotation(rotation);
+            } else if (item instanceof SegmentDeletion deletion) {
+                flush(appends);
+                appends.clear();
+                runDeletion(deletion);
+            } else if (item == SHUTDOWN) {
+                running = false;
+            }
+        }
+        flush(appends);
+        return running;
+    }
+
+    private void flush(List<PendingAppend> appends) {
+        if (appends.isEmpty()) {
+            return;
+        }
+
+        if (failure != null) {
+            appends.forEach(pending -> pending.durable().completeExceptionally(failure));
+            return;
+        }
+
+        int total = appends.stream().mapToInt(pending -> pending.record().length).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        appends.forEach(pending -> buffer.put(pending.record()));
+        buffer.flip();
+
+        long start = -1;
+        try {
+            FileChannel target = openChannel();
+            start = target.position();
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            target.force(false);
+            size += total;
+
+            appends.forEach(pending -> pending.durable().complete(null));
+        } catch (IOException e) {
+            logger.error("Erro ao gravar {} entradas no journal {}: {}", appends.size(), journalPath, e.getMessage());
+            if (start >= 0) {
+                discardPartialWrite(start, e);
+            }
+            appends.forEach(pending -> pending.durable().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Remove o que um lote com falha chegou a gravar, para o próximo lote não ficar depois de uma
+     * entrada rasgada (o replay para nela e perderia tudo o que vem depois). Se nem isso funciona,
+     * o journal passa a recusar gravações.
+     */
+    private void discardPartialWrite(long start, IOException cause) {
+        try {
+            channel.truncate(start);
+            channel.position(start);
+            channel.force(true);
+        } catch (IOException e) {
+            logger.error("Não foi possível desfazer a gravação parcial no journal {}; novas alterações serão recusadas: {}",
+                    journalPath, e.getMessage());
+            cause.addSuppressed(e);
+            failure = cause;
+            closeChannel();
+        }
+    }
+
+    private void runRotation(Rotation rotation) {
+        if (failure != null) {
+            rotation.generation().completeExceptionally(failure);
+            return;
+        }
+        try {
+            if (openChannel().size() > 0) {
+                closeChannel();
+                generation++;
+                // o segmento novo já nasce no disco, assim um restart continua gravando nele
+                openChannel();
+                logger.debug("Journal rotacionado para o segmento {}", generation);
+            }
+            rotation.generation().complete(generation);
+        } catch (IOException e) {
+            logger.error("Erro ao rotacionar o journal {}: {}", journalPath, e.getMessage());
+            rotation.generation().completeExceptionally(e);
+        }
+    }
+
+    private void runDeletion(SegmentDeletion deletion) {
+        try {
+            for (long segment : segments()) {
+                if (segment >= deletion.before() || segment >= generation) {
+                    break;
+                }
+                Path path = segmentPath(segment);
+                long deleted = Files.size(path);
+                Files.delete(path);
+                size -= deleted;
+            }
+            logger.debug("Segmentos do journal anteriores a {} apagados; {} bytes mantidos", deletion.before(), size);
+            deletion.done().complete(null);
+        } catch (IOException e) {
+            logger.error("Erro ao apagar segmentos do journal {}: {}", journalPath, e.getMessage());
+            deletion.done().completeExceptionally(e);
+        }
+    }
+
+    private long replaySegment(Path segment, List<DescriptionChange> changes) throws IOException {
+        try (FileChannel reader = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer content = ByteBuffer.allocate((int) reader.size());
+            while (content.hasRemaining() && reader.read(content) >= 0) {
+                // lê o segmento inteiro
+            }
+            content.flip();
+
+            long validBytes = 0;
+            while (content.remaining() >= HEADER_BYTES) {
+                int length = content.getInt();
+                int checksum = content.getInt();
+                if (length <= 0 || length > content.remaining()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                content.get(payload);
+                if (checksum(payload) != checksum) {
+                    break;
+                }
+                changes.add(decode(payload));
+                validBytes += HEADER_BYTES + length;
+            }
+
+            if (validBytes < reader.size()) {
+                logger.warn("Descartando {} bytes inválidos no fim do journal {}",
+                        reader.size() - validBytes, segment);
+                reader.truncate(validBytes);
+                reader.force(true);
+            }
+            return validBytes;
+        }
+    }
+
+    /**
+     * Gerações dos segmentos existentes no disco, em ordem crescente.
+     */
+    private List<Long> segments() throws IOException {
+        Path directory = journalPath.toAbsolutePath().getParent();
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+
+        String prefix = journalPath.getFileName() + ".";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.length() > prefix.length())
+                    .map(name -> name.substring(prefix.length()))
+                    .filter(suffix -> suffix.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return journalPath.resolveSibling(journalPath.getFileName() + "." + segment);
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            Path directory = journalPath.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            if (generation == 0) {
+                List<Long> segments = segments();
+                generation = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+                long total = 0;
+                for (long segment : segments) {
+                    total += Files.size(segmentPath(segment));
+                }
+                size = total;
+            }
+            channel = openSegment(segmentPath(generation));
+            channel.position(channel.size());
+        }
+        return channel;
+    }
+
+    FileChannel openSegment(Path segment) throws IOException {
+        return FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Erro ao fechar o journal {}: {}", journalPath, e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    private static byte[] encode(DescriptionChange change) {
+        byte[] text = change.description().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(Integer.BYTES * 2 + Long.BYTES + Integer.BYTES * 2 + text.length)
+                .putInt(change.episodeId())
+                .putInt(change.version())
+                .putLong(change.modifiedAt().toEpochSecond(ZoneOffset.UTC))
+                .putInt(change.modifiedAt().getNano())
+                .putInt(text.length)
+                .put(text);
+
+        byte[] payloadBytes = payload.array();
+        return ByteBuffer.allocate(HEADER_BYTES + payloadBytes.length)
+                .putInt(payloadBytes.length)
+                .putInt(checksum(payloadBytes))
+                .put(payloadBytes)
+                .array();
+    }
+
+    private static DescriptionChange decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        int episodeId = buffer.getInt();
+        int version = buffer.getInt();
+        LocalDateTime modifiedAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        byte[] text = new byte[buffer.getInt()];
+        buffer.get(text);
+        return new DescriptionChange(episodeId, version, new String(text, StandardCharsets.UTF_8), modifiedAt);
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private record PendingAppend(byte[] record, CompletableFuture<Void> durable) {
+    }
+
+    private record Rotation(CompletableFuture<Long> generation) {
+    }
+
+    private record SegmentDeletion(long before, CompletableFuture<Void> done) {
+    }
+}
@@ -0,0 +1,286 @@
+package com.dam.starwars.domain.repository;
+
+import com.dam.starwars.domain.model.Film;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Persiste o catálogo em um arquivo binário compacto para permitir reinícios a quente.
+ * O arquivo é escrito em um temporário e movido atomicamente por cima do anterior,
+ * de modo que um crash no meio da escrita nunca deixa um snapshot parcial.
+ */
+@Repository
+public class FilmSnapshotRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(FilmSnapshotRepository.class);
+
+    private static final int MAGIC = 0x53574643; // "SWFC"
+    private static final short FORMAT_VERSION = 2;
+    // snapshots gravados antes da revisão de conteúdo; lidos com revisão zero
+    private static final short FORMAT_VERSION_WITHOUT_REVISION = 1;
+
+    private final Path snapshotPath;
+    private final boolean enabled;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "film-snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+
+    public FilmSnapshotRepository(@Value("${catalog.snapshot.path:data/films.snapshot}") Path snapshotPath,
+                                  @Value("${catalog.snapshot.enabled:true}") boolean enabled) {
+        this.snapshotPath = snapshotPath;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<Film> load() {
+        if (!enabled) {
+            return Collections.emptyList();
+        }
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(snapshotPath))) {
+            byte[] content = in.readAllBytes();
+            List<Film> films = decode(content);
+            logger.info("Snapshot do catálogo carregado de {} com {} filmes", snapshotPath, films.size());
+            return films;
+        } catch (NoSuchFileException e) {
+            logger.info("Nenhum snapshot do catálogo encontrado em {}", snapshotPath);
+            return Collections.emptyList();
+        } catch (IOException e) {
+            logger.warn("Snapshot do catálogo em {} ignorado: {}", snapshotPath, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    public void save(Collection<Film> films) throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Path directory = snapshotPath.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = directory.resolve(snapshotPath.getFileName() + ".tmp");
+
+        byte[] content = encode(films);
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tempFile, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Agenda uma gravação assíncrona. Pedidos feitos enquanto outra gravação ainda
+     * está pendente são agrupados e o estado mais recente é o que vai para o disco.
+     * {@code afterSave} só roda se a gravação tiver sucesso.
+     */
+    public void scheduleSave(Supplier<Collection<Film>> films, Runnable afterSave) {
+        if (!enabled || !saveScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        writer.execute(() -> {
+            saveScheduled.set(false);
+            try {
+                save(films.get());
+                afterSave.run();
+            } catch (IOException | CompletionException e) {
+                logger.error("Erro ao gravar o snapshot do catálogo em {}: {}", snapshotPath, e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private byte[] encode(Collection<Film> films) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(films.size() * 2048 + 16);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(bytes))) {
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            out.writeInt(films.size());
+            for (Film film : films) {
+                writeFilm(out, film);
+            }
+        }
+
+        byte[] body = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return ByteBuffer.allocate(body.length + Long.BYTES).put(body).putLong(crc.getValue()).array();
+    }
+
+    private List<Film> decode(byte[] content) throws IOException {
+        if (content.length < Long.BYTES) {
+            throw new IOException("arquivo truncado");
+        }
+
+        int bodyLength = content.length - Long.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, bodyLength);
+        if (crc.getValue() != ByteBuffer.wrap(content, bodyLength, Long.BYTES).getLong()) {
+            throw new IOException("checksum inválido");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(content, 0, bodyLength));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("formato desconhecido");
+        }
+        short formatVersion = in.readShort();
+        if (formatVersion != FORMAT_VERSION && formatVersion != FORMAT_VERSION_WITHOUT_REVISION) {
+            throw new IOException("versão de formato não suportada: " + formatVersion);
+        }
+
+        int count = in.readInt();
+        List<Film> films = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            films.add(readFilm(in, formatVersion));
+        }
+        return films;
+    }
+
+    private void writeFilm(DataOutputStream out, Film film) throws IOException {
+        writeString(out, film.getTitle());
+        out.writeInt(film.getEpisodeId());
+        writeString(out, film.getOpeningCrawl());
+        writeString(out, film.getDirector());
+        writeString(out, film.getProducer());
+        writeString(out, film.getReleaseDate());
+        writeList(out, film.getCharacters());
+        writeList(out, film.getPlanets());
+        writeList(out, film.getStarships());
+        writeList(out, film.getVehicles());
+        writeList(out, film.getSpecies());
+        writeDateTime(out, film.getCreated());
+        writeDateTime(out, film.getEdited());
+        writeString(out, film.getUrl());
+        out.writeInt(film.getVersion());
+        writeString(out, film.getCustomDescription());
+        writeDateTime(out, film.getLastModified());
+        out.writeInt(film.getRevision());
+    }
+
+    private Film readFilm(DataInputStream in, short formatVersion) throws IOException {
+        Film film = new Film();
+        film.setTitle(readString(in));
+        film.setEpisodeId(in.readInt());
+        film.setOpeningCrawl(readString(in));
+        film.setDirector(readString(in));
+        film.setProducer(readString(in));
+        film.setReleaseDate(readString(in));
+        film.setCharacters(readList(in));
+        film.setPlanets(readList(in));
+        film.setStarships(readList(in));
+        film.setVehicles(readList(in));
+        film.setSpecies(readList(in));
+        film.setCreated(readDateTime(in));
+        film.setEdited(readDateTime(in));
+        film.setUrl(readString(in));
+        film.restoreLocalState(in.readInt(), readString(in), readDateTime(in));
+        if (formatVersion >= FORMAT_VERSION) {
+            film.setRevision(in.readInt());
+        }
+        return film;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeList(DataOutputStream out, List<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readList(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,108 @@
+package com.dam.starwars.domain.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class FilmCatalogLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(FilmCatalogLoader.class);
+
+    private final FilmService filmService;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration refreshInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "film-catalog-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean catalogLoaded;
+
+    public FilmCatalogLoader(FilmService filmService,
+                             @Value("${swapi.loader.initial-backoff:1s}") Duration initialBackoff,
+                             @Value("${swapi.loader.max-backoff:1m}") Duration maxBackoff,
+                             @Value("${swapi.refresh.interval:10m}") Duration refreshInterval) {
+        this.filmService = filmService;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadInBackground() {
+        if (filmService.restoreFromSnapshot() > 0) {
+            catalogLoaded = true;
+            logger.info("Catálogo restaurado do snapshot local; reconciliando com a SWAPI em segundo plano");
+        } else {
+            logger.info("Agendando carga do catálogo de filmes em segundo plano");
+        }
+        scheduler.execute(() -> attempt(1));
+    }
+
+    public boolean isCatalogLoaded() {
+        return catalogLoaded;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void attempt(int attempt) {
+        int loaded = 0;
+        try {
+            loaded = filmService.loadFilmsIntoMemory();
+        } catch (RuntimeException e) {
+            logger.error("Falha ao carregar o catálogo de filmes: {}", e.getMessage());
+        }
+
+        if (loaded > 0) {
+            catalogLoaded = true;
+            logger.info("Catálogo de filmes carregado da SWAPI na tentativa {}", attempt);
+            scheduleRefresh();
+            return;
+        }
+
+        long delay = backoffMillis(attempt);
+        logger.warn("SWAPI não retornou filmes na tentativa {}. Nova tentativa em {} ms", attempt, delay);
+        scheduler.schedule(() -> attempt(attempt + 1), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void scheduleRefresh() {
+        if (refreshInterval.isZero() || refreshInterval.isNegative()) {
+            return;
+        }
+        long interval = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void refresh() {
+        try {
+            int changed = filmService.refreshFilms();
+            logger.debug("Atualização periódica do catálogo: {} filmes alterados na SWAPI", changed);
+        } catch (RuntimeException e) {
+            // o catálogo atual continua no ar; a próxima rodada tenta de novo
+            logger.warn("Falha na atualização periódica do catálogo: {}", e.getMessage());
+        }
+    }
+
+    private long backoffMillis(int attempt) {
+        long exponential = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+        long capped = Math.min(exponential, maxBackoff.toMillis());
+        // jitter de até 20% para não sincronizar as tentativas de várias instâncias
+        return capped + ThreadLocalRandom.current().nextLong(capped / 5 + 1);
+    }
+}
@@ -2,16 +2,44 @@ package com.dam.starwars.domain.service;
 
 import com.dam.starwars.api.client.SwapiClient;
 import com.dam.starwars.common.exception.FilmNotFoundException;
+import com.dam.starwars.common.exception.VersionConflictException;
+import com.dam.starwars.domain.model.CatalogFreshness;
+import com.dam.starwars.domain.model.DescriptionChange;
+import com.dam.starwars.domain.model.DescriptionUpdate;
+import com.dam.starwars.domain.model.DescriptionUpdateResult;
 import com.dam.starwars.domain.model.Film;
-import jakarta.annotation.PostConstruct;
+import com.dam.starwars.domain.model.FilmCatalogSnapshot;
+import com.dam.starwars.domain.model.FilmChangeEvent;
+import com.dam.starwars.domain.model.FilmSearchHit;
+import com.dam.starwars.domain.model.SwapiResource;
+import com.dam.starwars.domain.repository.DescriptionJournal;
+import com.dam.starwars.domain.repository.FilmSnapshotRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class FilmService {
@@ -19,29 +47,159 @@ public class FilmService {
     private static final Logger logger = LoggerFactory.getLogger(FilmService.class);
 
     private final SwapiClient swapiClient;
+    private final FilmSnapshotRepository snapshotRepository;
+    private final DescriptionJournal descriptionJournal;
+    private final ApplicationEventPublisher eventPublisher;
     private final Map<Integer, Film> filmsInMemory = new ConcurrentHashMap<>();
+    private final Map<Integer, DescriptionChange> pendingReplay = new ConcurrentHashMap<>();
+    // serializa as alterações de descrição de cada episódio, do journal até a troca em memória
+    private final Map<Integer, Lock> descriptionLocks = new ConcurrentHashMap<>();
+    // alterações entre o journal e a memória usam a leitura; a captura do snapshot usa a escrita
+    private final ReadWriteLock snapshotCaptureLock = new ReentrantReadWriteLock();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final Set<Integer> unpublishedEpisodes = ConcurrentHashMap.newKeySet();
+    // a versão recomeça do zero a cada inicialização; o epoch distingue os ETags de cada uma
+    private final String catalogEpoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
 
-    public FilmService(SwapiClient swapiClient) {
+    private volatile FilmCatalogSnapshot catalogSnapshot;
+    private volatile Instant lastSyncedAt;
+    private volatile boolean syncFailing;
+
+    public FilmService(SwapiClient swapiClient, FilmSnapshotRepository snapshotRepository,
+                       DescriptionJournal descriptionJournal, ApplicationEventPublisher eventPublisher) {
+        if (descriptionJournal.isEnabled() && !snapshotRepository.isEnabled()) {
+            // o journal só é compactado quando um snapshot cobre os segmentos antigos
+            throw new IllegalStateException(
+                    "catalog.journal.enabled exige catalog.snapshot.enabled; sem snapshot o journal cresce sem limite");
+        }
         this.swapiClient = swapiClient;
+        this.snapshotRepository = snapshotRepository;
+        this.descriptionJournal = descriptionJournal;
+        this.eventPublisher = eventPublisher;
+        this.catalogSnapshot = new FilmCatalogSnapshot(catalogEpoch, catalogVersion.incrementAndGet(),
+                System.currentTimeMillis(), List.of());
     }
 
-    @PostConstruct
-    public void loadFilmsIntoMemory() {
-        logger.info("Carregando filmes em memória...");
+    public int restoreFromSnapshot() {
+        List<Film> films = snapshotRepository.load();
+        List<DescriptionChange> changes = descriptionJournal.replay();
+        if (films.isEmpty() && changes.isEmpty()) {
+            return 0;
+        }
 
-        List<Film> films = swapiClient.fetchAllFilms();
+        Map<Integer, DescriptionChange> latestChanges = new HashMap<>();
+        for (DescriptionChange change : changes) {
+            latestChanges.merge(change.episodeId(), change,
+                    (current, candidate) -> candidate.version() > current.version() ? candidate : current);
+        }
 
         for (Film film : films) {
-            filmsInMemory.put(film.getEpisodeId(), film);
+            DescriptionChange change = latestChanges.remove(film.getEpisodeId());
+            filmsInMemory.putIfAbsent(film.getEpisodeId(), change != null ? applyChange(film, change) : film);
         }
+        // filmes que ainda não chegaram; as alterações são aplicadas quando a SWAPI responder
+        pendingReplay.putAll(latestChanges);
+        publishSnapshot(films.stream().map(Film::getEpisodeId).toList());
+
+        logger.info("Restaurados {} filmes do snapshot local e {} alterações do journal", films.size(), changes.size());
+        return films.size();
+    }
+
+    public int loadFilmsIntoMemory() {
+        logger.info("Carregando filmes em memória...");
+
+        List<Film> films;
+        try {
+            films = swapiClient.fetchAllFilms();
+        } catch (RuntimeException e) {
+            // o último catálogo bom continua sendo servido, marcado como velho
+            syncFailing = true;
+            throw e;
+        }
+        if (films.isEmpty()) {
+            syncFailing = true;
+            return 0;
+        }
+
+        applyUpstream(films);
+        lastSyncedAt = Instant.now();
+        syncFailing = false;
+        scheduleCatalogSave();
 
         logger.info("Carregados {} filmes em memória", filmsInMemory.size());
+
+        // aquece em segundo plano o cache do ?expand= dos detalhes; a carga não espera por ele
+        swapiClient.prefetchLinkedResources(films);
+        return films.size();
+    }
+
+    /**
+     * Busca na SWAPI só as páginas que mudaram desde a última busca e aplica os filmes cujo
+     * {@code edited} mudou, mantendo descrição e versão locais. Devolve quantos filmes mudaram.
+     */
+    public int refreshFilms() {
+        List<Film> candidates;
+        try {
+            candidates = swapiClient.fetchChangedFilms();
+        } catch (RuntimeException e) {
+            syncFailing = true;
+            throw e;
+        }
+
+        List<Film> changed = candidates.stream()
+                .filter(film -> {
+                    Film current = filmsInMemory.get(film.getEpisodeId());
+                    return current == null || current.getEdited() == null
+                            || !Objects.equals(current.getEdited(), film.getEdited());
+                })
+                .toList();
+        lastSyncedAt = Instant.now();
+        syncFailing = false;
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        applyUpstream(changed);
+        scheduleCatalogSave();
+        logger.info("Atualizados {} filmes alterados na SWAPI", changed.size());
+        return changed.size();
     }
 
     public List<Film> getAllFilms() {
         return new ArrayList<>(filmsInMemory.values());
     }
 
+    /**
+     * Percorre os filmes em memória na ordem de episódio, sem copiar a coleção.
+     */
+    public Stream<Film> streamFilms() {
+        return catalogSnapshot.films().stream();
+    }
+
+    public FilmCatalogSnapshot getCatalogSnapshot() {
+        return catalogSnapshot;
+    }
+
+    public CatalogFreshness getCatalogFreshness() {
+        return new CatalogFreshness(lastSyncedAt, lastSyncedAt == null || syncFailing);
+    }
+
+    public List<FilmSearchHit> searchFilms(String query, int limit) {
+        return catalogSnapshot.search(query, limit);
+    }
+
+    public Map<String, SwapiResource> resolveLinkedResources(Collection<String> urls) {
+        return swapiClient.resolveResources(urls);
+    }
+
+    public Map<String, SwapiResource> getCachedLinkedResources(Collection<String> urls) {
+        return swapiClient.getCachedResources(urls);
+    }
+
+    public CompletableFuture<Map<String, SwapiResource>> resolveLinkedResourcesAsync(Collection<String> urls) {
+        return swapiClient.resolveResourcesAsync(urls);
+    }
+
     public Film getFilmByEpisode(Integer episodeId) {
         Film film = filmsInMemory.get(episodeId);
         if (film == null) {
@@ -51,18 +209,113 @@ public class FilmService {
     }
 
     public Film updateFilmDescription(Integer episodeId, String newDescription) {
-        Film film = getFilmByEpisode(episodeId);
+        return updateFilmDescription(episodeId, newDescription, null);
+    }
 
-        logger.info("Atualizando descrição do filme episódio {}, versão atual: {}",
-                episodeId, film.getVersion());
+    /**
+     * Grava a alteração no journal e espera o fsync antes de trocar o filme em memória e publicar
+     * o snapshot, então nenhuma leitura vê uma descrição que um crash poderia perder. Se a gravação
+     * falha, nada muda em memória.
+     */
+    public Film updateFilmDescription(Integer episodeId, String newDescription, Integer expectedVersion) {
+        logger.info("Atualizando descrição do filme episódio {}, versão esperada: {}", episodeId, expectedVersion);
+        return updateDescription(episodeId, newDescription, current -> checkVersion(current, expectedVersion));
+    }
 
-        film.setCustomDescription(newDescription);
+    /**
+     * Como {@link #updateFilmDescription(Integer, String, Integer)}, mas a pré-condição é a lista de
+     * ETags do If-Match: a descrição só é trocada se o ETag atual do filme estiver entre eles.
+     */
+    public Film updateFilmDescriptionIfMatch(Integer episodeId, String newDescription, Collection<String> eTags) {
+        logger.info("Atualizando descrição do filme episódio {}, ETags esperados: {}", episodeId, eTags);
+        return updateDescription(episodeId, newDescription, current -> {
+            if (!eTags.contains(current.getETag())) {
+                throw new VersionConflictException("Filme com episódio " + current.getEpisodeId()
+                        + " está no ETag " + current.getETag() + ", nenhum dos informados em If-Match");
+            }
+        });
+    }
+
+    private Film updateDescription(Integer episodeId, String newDescription, Consumer<Film> precondition) {
+        Film film;
+        Lock lock = descriptionLock(episodeId);
+        lock.lock();
+        try {
+            Film current = getFilmByEpisode(episodeId);
+            precondition.accept(current);
+            film = applyDurably(List.of(prepareChange(current, newDescription))).get(0);
+        } finally {
+            lock.unlock();
+        }
+
+        publishSnapshot(List.of(episodeId));
+        eventPublisher.publishEvent(descriptionChanged(film));
+        if (descriptionJournal.needsCompaction()) {
+            scheduleCatalogSave();
+        }
 
         logger.info("Descrição atualizada. Nova versão: {}", film.getVersion());
 
         return film;
     }
 
+    public List<DescriptionUpdateResult> updateFilmDescriptions(List<DescriptionUpdate> updates) {
+        logger.info("Atualizando descrições de {} filmes em lote", updates.size());
+
+        // os episódios são travados em ordem crescente, assim dois lotes nunca se esperam em ciclo
+        List<Lock> locks = updates.stream()
+                .map(DescriptionUpdate::episodeId)
+                .filter(episodeId -> episodeId != null && filmsInMemory.containsKey(episodeId))
+                .distinct()
+                .sorted()
+                .map(this::descriptionLock)
+                .toList();
+        locks.forEach(Lock::lock);
+        List<DescriptionUpdateResult> results = new ArrayList<>(updates.size());
+        List<DescriptionChange> changes = new ArrayList<>(updates.size());
+        try {
+            // um episódio repetido no lote parte da versão deixada pela alteração anterior do mesmo lote
+            Map<Integer, Film> pending = new HashMap<>();
+            for (DescriptionUpdate update : updates) {
+                try {
+                    Film current = pending.containsKey(update.episodeId())
+                            ? pending.get(update.episodeId())
+                            : getFilmByEpisode(update.episodeId());
+                    checkVersion(current, update.expectedVersion());
+                    DescriptionChange change = prepareChange(current, update.description());
+                    pending.put(update.episodeId(), current.withChange(change));
+                    changes.add(change);
+                    results.add(null);
+                } catch (FilmNotFoundException e) {
+                    results.add(DescriptionUpdateResult.failed(update.episodeId(),
+                            DescriptionUpdateResult.Status.NOT_FOUND, e.getMessage()));
+                } catch (VersionConflictException e) {
+                    results.add(DescriptionUpdateResult.failed(update.episodeId(),
+                            DescriptionUpdateResult.Status.CONFLICT, e.getMessage()));
+                }
+            }
+
+            // as entradas entram no mesmo lote do journal e dividem um único fsync
+            Iterator<Film> applied = applyDurably(changes).iterator();
+            results.replaceAll(result -> result != null ? result : DescriptionUpdateResult.updated(applied.next()));
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+
+        if (!changes.isEmpty()) {
+            publishSnapshot(changes.stream().map(DescriptionChange::episodeId).distinct().toList());
+            results.stream()
+                    .filter(result -> result.status() == DescriptionUpdateResult.Status.UPDATED)
+                    .forEach(result -> eventPublisher.publishEvent(descriptionChanged(result.film())));
+            if (descriptionJournal.needsCompaction()) {
+                scheduleCatalogSave();
+            }
+        }
+
+        logger.info("Lote concluído: {} de {} descrições atualizadas", changes.size(), updates.size());
+        return results;
+    }
+
     public boolean filmExists(Integer episodeId) {
         return filmsInMemory.containsKey(episodeId);
     }
@@ -70,4 +323,143 @@ public class FilmService {
     public int getTotalFilms() {
         return filmsInMemory.size();
     }
+
+    private Lock descriptionLock(Integer episodeId) {
+        // só episódios existentes ganham trava, então ids inventados não fazem o mapa crescer
+        getFilmByEpisode(episodeId);
+        return descriptionLocks.computeIfAbsent(episodeId, id -> new ReentrantLock());
+    }
+
+    private static void checkVersion(Film current, Integer expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            throw new VersionConflictException("Filme com episódio " + current.getEpisodeId() + " está na versão "
+                    + current.getVersion() + ", esperada " + expectedVersion);
+        }
+    }
+
+    private static DescriptionChange prepareChange(Film current, String newDescription) {
+        return new DescriptionChange(current.getEpisodeId(), current.getVersion() + 1, newDescription,
+                LocalDateTime.now());
+    }
+
+    /**
+     * Grava as alterações no journal, espera o fsync e só então as aplica em memória, na ordem
+     * recebida. O chamador precisa segurar as travas dos episódios alterados.
+     */
+    private List<Film> applyDurably(List<DescriptionChange> changes) {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+
+        Lock lock = snapshotCaptureLock.readLock();
+        lock.lock();
+        try {
+            CompletableFuture.allOf(changes.stream()
+                    .map(descriptionJournal::append)
+                    .toArray(CompletableFuture[]::new)).join();
+
+            List<Film> applied = new ArrayList<>(changes.size());
+            for (DescriptionChange change : changes) {
+                // o filme publicado nunca é alterado: a nova versão é uma cópia trocada atomicamente no mapa
+                applied.add(filmsInMemory.computeIfPresent(change.episodeId(),
+                        (id, current) -> current.withChange(change)));
+            }
+            return applied;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static FilmChangeEvent descriptionChanged(Film film) {
+        return new FilmChangeEvent(film.getEpisodeId(), film.getVersion(), film.getRevision(),
+                new LinkedHashSet<>(List.of("customDescription", "version", "lastModified")));
+    }
+
+    private void applyUpstream(List<Film> films) {
+        List<FilmChangeEvent> changes = new ArrayList<>();
+        // com a trava de leitura, a captura do snapshot vê cada alteração pendente ou no journal
+        // reescrito ou já aplicada ao filme, nunca no meio do caminho
+        Lock captureLock = snapshotCaptureLock.readLock();
+        captureLock.lock();
+        try {
+            for (Film film : films) {
+                DescriptionChange replayed = pendingReplay.remove(film.getEpisodeId());
+                Film[] previous = new Film[1];
+                Film merged = filmsInMemory.compute(film.getEpisodeId(), (episodeId, local) -> {
+                    previous[0] = local;
+                    Film candidate = film.copy();
+                    if (local != null) {
+                        // mantém as edições locais ao reconciliar com a SWAPI
+                        candidate.restoreLocalState(local.getVersion(), local.getCustomDescription(),
+                                local.getLastModified());
+                        candidate.setRevision(local.getRevision());
+                        if (!candidate.changedFieldsSince(local).isEmpty()) {
+                            candidate.markRevised();
+                        }
+                    }
+                    return replayed != null ? applyChange(candidate, replayed) : candidate;
+                });
+
+                Set<String> changed = merged.changedFieldsSince(previous[0]);
+                if (!changed.isEmpty()) {
+                    changes.add(new FilmChangeEvent(merged.getEpisodeId(), merged.getVersion(),
+                            merged.getRevision(), changed));
+                }
+            }
+        } finally {
+            captureLock.unlock();
+        }
+        publishSnapshot(films.stream().map(Film::getEpisodeId).toList());
+        changes.forEach(eventPublisher::publishEvent);
+    }
+
+    private static Film applyChange(Film film, DescriptionChange change) {
+        return change.version() > film.getVersion() ? film.withChange(change) : film;
+    }
+
+    private void scheduleCatalogSave() {
+        long[] coveredBefore = new long[1];
+        snapshotRepository.scheduleSave(() -> {
+            // com a trava de escrita nenhuma alteração está entre o journal e a memória, então tudo
+            // o que foi para os segmentos anteriores ao novo já está no estado lido em seguida
+            Lock lock = snapshotCaptureLock.writeLock();
+            lock.lock();
+            try {
+                coveredBefore[0] = descriptionJournal.rotate().join();
+                // alterações de filmes que a SWAPI ainda não trouxe não estão no snapshot: regravadas
+                // no segmento novo, sobrevivem à remoção dos anteriores
+                CompletableFuture.allOf(pendingReplay.values().stream()
+                        .map(descriptionJournal::append)
+                        .toArray(CompletableFuture[]::new)).join();
+                return getAllFilms();
+            } finally {
+                lock.unlock();
+            }
+        }, () -> descriptionJournal.deleteSegmentsBefore(coveredBefore[0]));
+    }
+
+    /**
+     * Publica um snapshot com os episódios alterados. Escritores concorrentes entram num mesmo
+     * snapshot: quem pega a trava publica também o que os outros deixaram pendente, e quem chega
+     * depois e não encontra nada pendente já tem a sua alteração publicada.
+     */
+    private void publishSnapshot(Collection<Integer> changedEpisodes) {
+        unpublishedEpisodes.addAll(changedEpisodes);
+        synchronized (unpublishedEpisodes) {
+            List<Film> changed = new ArrayList<>();
+            for (Iterator<Integer> pending = unpublishedEpisodes.iterator(); pending.hasNext(); ) {
+                Integer episodeId = pending.next();
+                // remove antes de ler o mapa: uma troca posterior à leitura volta a ficar pendente
+                pending.remove();
+                Film film = filmsInMemory.get(episodeId);
+                if (film != null) {
+                    changed.add(film);
+                }
+            }
+            if (!changed.isEmpty()) {
+                catalogSnapshot = catalogSnapshot.with(catalogVersion.incrementAndGet(),
+                        System.currentTimeMillis(), changed);
+            }
+        }
+    }
 }
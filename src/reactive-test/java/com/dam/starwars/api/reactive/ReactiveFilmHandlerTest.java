@@ -0,0 +1,159 @@
+package com.dam.starwars.api.reactive;
+
+import com.dam.starwars.api.mapper.FilmMapper;
+import com.dam.starwars.common.exception.FilmNotFoundException;
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.FilmCatalogSnapshot;
+import com.dam.starwars.domain.model.SwapiResource;
+import com.dam.starwars.domain.service.FilmService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Reactive Film Handler Tests")
+class ReactiveFilmHandlerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private FilmService filmService;
+    private FilmMapper filmMapper;
+    private WebTestClient client;
+    private Film film;
+
+    @BeforeEach
+    void setUp() {
+        filmService = mock(FilmService.class);
+        filmMapper = spy(new FilmMapper());
+        client = WebTestClient.bindToRouterFunction(new ReactiveFilmHandler(filmService, filmMapper).routes())
+                .handlerStrategies(ReactiveFilmHandler.strategies(objectMapper))
+                .build();
+
+        Film secondFilm = new Film("The Empire Strikes Back", 5, "It is a dark time...");
+        secondFilm.setDirector("Irvin Kershner");
+        secondFilm.setReleaseDate("1980-05-17");
+        when(filmService.getCatalogSnapshot()).thenReturn(new FilmCatalogSnapshot("a1", 3, System.currentTimeMillis(),
+                List.of(new Film("A New Hope", 4, "It is a period of civil war..."), secondFilm)));
+
+        film = new Film("A New Hope", 4, "It is a period of civil war...");
+        film.setVersion(1);
+        film.setLastModified(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Deve transmitir os filmes em NDJSON, um por linha")
+    void shouldStreamFilmsAsNdjson() {
+        String body = client.get().uri("/api/films")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectHeader().valueEquals("ETag", "\"catalog-a1-3\"")
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        String[] lines = body.strip().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"A New Hope\""));
+        assertTrue(lines[1].contains("\"episode_id\":5"));
+    }
+
+    @Test
+    @DisplayName("Deve transmitir os filmes como array JSON por padrão")
+    void shouldStreamFilmsAsJsonArray() {
+        client.get().uri("/api/films")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].title").isEqualTo("A New Hope")
+                .jsonPath("$[1].release_date").isEqualTo("1980-05-17");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 quando o catálogo não mudou")
+    void shouldReturnNotModifiedForCurrentCatalog() {
+        client.get().uri("/api/films")
+                .header("If-None-Match", "\"catalog-a1-3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", "\"catalog-a1-3\"");
+
+        verify(filmMapper, never()).toFilmResponse(any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 sem resolver os recursos do expand quando o filme não mudou")
+    void shouldReturnNotModifiedBeforeExpanding() {
+        film.setCharacters(List.of("https://swapi.py4e.com/api/people/1/"));
+        when(filmService.getFilmByEpisode(4)).thenReturn(film);
+
+        client.get().uri("/api/films/4?expand=characters")
+                .header("If-None-Match", "\"4-1-0\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", "\"4-1-0\"");
+
+        verify(filmService, never()).resolveLinkedResourcesAsync(any());
+    }
+
+    @Test
+    @DisplayName("Deve expandir as listas de recursos sem bloquear")
+    void shouldGetExpandedFilmDetails() {
+        String luke = "https://swapi.py4e.com/api/people/1/";
+        film.setCharacters(List.of(luke));
+        when(filmService.getFilmByEpisode(4)).thenReturn(film);
+        when(filmService.resolveLinkedResourcesAsync(Set.of(luke)))
+                .thenReturn(CompletableFuture.completedFuture(Map.of(luke, new SwapiResource("Luke Skywalker", luke))));
+
+        client.get().uri("/api/films/4?expand=characters")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"4-1-0\"")
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("A New Hope")
+                .jsonPath("$.characters[0].name").isEqualTo("Luke Skywalker");
+
+        client.get().uri("/api/films/4?expand=title")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Parâmetro Inválido");
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 404 quando filme não existe")
+    void shouldReturnNotFoundWhenFilmDoesNotExist() {
+        when(filmService.getFilmByEpisode(999))
+                .thenThrow(new FilmNotFoundException("Filme com episódio 999 não encontrado"));
+
+        client.get().uri("/api/films/999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Filme Não Encontrado")
+                .jsonPath("$.message").isEqualTo("Filme com episódio 999 não encontrado");
+    }
+}
@@ -0,0 +1,55 @@
+package com.dam.starwars.api.reactive;
+
+import com.dam.starwars.api.mapper.FilmMapper;
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.FilmCatalogSnapshot;
+import com.dam.starwars.domain.service.FilmService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Reactive Film Server Tests")
+class ReactiveFilmServerTest {
+
+    @Test
+    @DisplayName("Deve servir o catálogo inteiro em NDJSON pelo servidor Netty")
+    void shouldServeCatalogOverNetty() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Film> films = new ArrayList<>();
+        for (int i = 1; i <= 5000; i++) {
+            films.add(new Film("Synthetic Episode " + i, i, "crawl"));
+        }
+        FilmService filmService = mock(FilmService.class);
+        when(filmService.getCatalogSnapshot()).thenReturn(new FilmCatalogSnapshot("a1", 1, 0, films));
+
+        ReactiveFilmServer server = new ReactiveFilmServer(filmService, new FilmMapper(), objectMapper, 0);
+        server.start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://127.0.0.1:" + server.getPort() + "/api/films"))
+                    .header("Accept", "application/x-ndjson")
+                    .build();
+            HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+                    .send(request, HttpResponse.BodyHandlers.ofLines());
+
+            assertEquals(200, response.statusCode());
+            assertEquals(5000, response.body().filter(line -> !line.isBlank()).count());
+        } finally {
+            server.stop();
+        }
+        assertFalse(server.isRunning());
+    }
+}
@@ -0,0 +1,151 @@
+package com.dam.starwars.api.reactive;
+
+import com.dam.starwars.api.dto.FilmDetailView;
+import com.dam.starwars.api.dto.FilmResponse;
+import com.dam.starwars.api.mapper.FilmDetailSerializer;
+import com.dam.starwars.api.mapper.FilmMapper;
+import com.dam.starwars.common.exception.FilmNotFoundException;
+import com.dam.starwars.common.exception.InvalidQueryException;
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.FilmCatalogSnapshot;
+import com.dam.starwars.domain.service.FilmService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rotas da variante reativa da API de filmes. A lista sai como {@link Flux} direto do snapshot do
+ * catálogo, em NDJSON quando o cliente aceita {@code application/x-ndjson} ou como array JSON, e
+ * cada filme só é mapeado e serializado quando a conexão pede mais dados. Usa o mesmo
+ * {@link FilmService} e o mesmo {@link FilmMapper} do controller MVC, então as duas variantes
+ * servem o mesmo catálogo.
+ */
+public class ReactiveFilmHandler {
+
+    private final FilmService filmService;
+    private final FilmMapper filmMapper;
+
+    public ReactiveFilmHandler(FilmService filmService, FilmMapper filmMapper) {
+        this.filmService = filmService;
+        this.filmMapper = filmMapper;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/films", this::listFilms)
+                .GET("/api/films/{episodeId}", this::getFilmDetails)
+                .onError(FilmNotFoundException.class,
+                        (error, request) -> errorResponse(HttpStatus.NOT_FOUND, "Filme Não Encontrado", error))
+                .onError(InvalidQueryException.class,
+                        (error, request) -> errorResponse(HttpStatus.BAD_REQUEST, "Parâmetro Inválido", error))
+                .build();
+    }
+
+    /**
+     * Codecs JSON com o {@link ObjectMapper} da aplicação, para o JSON sair igual ao da variante MVC.
+     */
+    public static HandlerStrategies strategies(ObjectMapper objectMapper) {
+        return HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+    }
+
+    Mono<ServerResponse> listFilms(ServerRequest request) {
+        FilmCatalogSnapshot snapshot = filmService.getCatalogSnapshot();
+        Instant lastModified = Instant.ofEpochMilli(snapshot.lastModified());
+        if (request.exchange().checkNotModified(snapshot.eTag(), lastModified)) {
+            return notModified(snapshot.eTag(), lastModified);
+        }
+        MediaType contentType = acceptsNdjson(request) ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+
+        return ServerResponse.ok()
+                .contentType(contentType)
+                .eTag(snapshot.eTag())
+                .lastModified(lastModified)
+                .body(Flux.fromIterable(snapshot.films()).map(filmMapper::toFilmResponse), FilmResponse.class);
+    }
+
+    Mono<ServerResponse> getFilmDetails(ServerRequest request) {
+        return Mono.defer(() -> {
+            Integer episodeId = parseEpisodeId(request.pathVariable("episodeId"));
+            Set<String> expandFields = request.queryParam("expand")
+                    .map(FilmDetailSerializer::parseExpand)
+                    .orElse(Set.of());
+            Film film = filmService.getFilmByEpisode(episodeId);
+            // o ETag do filme só sai em respostas completas, então quem o envia já tem a versão expandida
+            Instant lastModified = Instant.ofEpochMilli(film.getLastModifiedMillis());
+            if (request.exchange().checkNotModified(film.getETag(), lastModified)) {
+                return notModified(film.getETag(), lastModified);
+            }
+            if (expandFields.isEmpty()) {
+                return detailResponse(film, true).bodyValue(new FilmDetailView(film));
+            }
+
+            Set<String> urls = FilmDetailSerializer.linkedUrls(film, expandFields);
+            return Mono.fromFuture(filmService.resolveLinkedResourcesAsync(urls))
+                    .flatMap(resources -> detailResponse(film, resources.keySet().containsAll(urls))
+                            .bodyValue(new FilmDetailView(film, expandFields, resources)));
+        });
+    }
+
+    private static ServerResponse.BodyBuilder detailResponse(Film film, boolean complete) {
+        ServerResponse.BodyBuilder response = ServerResponse.ok().contentType(MediaType.APPLICATION_JSON);
+        // resposta com recursos faltando não recebe ETag, para o cliente não guardar a versão incompleta
+        if (complete) {
+            response.eTag(film.getETag())
+                    .lastModified(Instant.ofEpochMilli(film.getLastModifiedMillis()));
+        }
+        return response;
+    }
+
+    /**
+     * Responde 304 antes de montar o corpo: nem o catálogo é percorrido nem os recursos do
+     * {@code expand} são resolvidos.
+     */
+    private static Mono<ServerResponse> notModified(String eTag, Instant lastModified) {
+        return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .build();
+    }
+
+    private static boolean acceptsNdjson(ServerRequest request) {
+        return request.headers().accept().stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    }
+
+    private static Integer parseEpisodeId(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidQueryException("ID de episódio inválido: " + value);
+        }
+    }
+
+    private static Mono<ServerResponse> errorResponse(HttpStatus status, String error, Throwable cause) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("error", error);
+        body.put("message", cause.getMessage());
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+}
@@ -0,0 +1,61 @@
+package com.dam.starwars.api.reactive;
+
+import com.dam.starwars.api.mapper.FilmMapper;
+import com.dam.starwars.domain.service.FilmService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+/**
+ * Servidor Netty opcional com as rotas de {@link ReactiveFilmHandler}, ao lado do Tomcat da API
+ * MVC. Poucas threads de event loop atendem todas as conexões, então clientes lentos não prendem
+ * uma thread cada. Ligado por {@code films.reactive.enabled}, na porta {@code films.reactive.port}.
+ */
+@Component
+@ConditionalOnProperty(name = "films.reactive.enabled", havingValue = "true")
+public class ReactiveFilmServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveFilmServer.class);
+
+    private final WebServer webServer;
+    private volatile boolean running;
+
+    public ReactiveFilmServer(FilmService filmService,
+                              FilmMapper filmMapper,
+                              ObjectMapper objectMapper,
+                              @Value("${films.reactive.port:8081}") int port) {
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(
+                new ReactiveFilmHandler(filmService, filmMapper).routes(), ReactiveFilmHandler.strategies(objectMapper));
+        this.webServer = new NettyReactiveWebServerFactory(port).getWebServer(httpHandler);
+    }
+
+    @Override
+    public void start() {
+        webServer.start();
+        running = true;
+        logger.info("API reativa de filmes ouvindo na porta {}", webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        webServer.stop();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getPort() {
+        return webServer.getPort();
+    }
+}
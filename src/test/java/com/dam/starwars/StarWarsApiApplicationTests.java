@@ -5,7 +5,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @DisplayName("Star Wars API Application Tests")
-@SpringBootTest
+@SpringBootTest(properties = {
+		"catalog.snapshot.path=target/test-data/films.snapshot",
+		"catalog.journal.path=target/test-data/descriptions.journal"
+})
 class StarWarsApiApplicationTests {
 
 	@Test
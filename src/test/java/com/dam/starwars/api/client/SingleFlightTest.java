@@ -0,0 +1,74 @@
+package com.dam.starwars.api.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Single Flight Tests")
+class SingleFlightTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    @DisplayName("Deve dividir a chamada em voo e reaproveitar o resultado durante o TTL")
+    void shouldShareInFlightCallAndMemoizeForTtl() {
+        SingleFlight<String> singleFlight = new SingleFlight<>(Duration.ofSeconds(1), now::get);
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("/films/", () -> call(upstream));
+        CompletableFuture<String> second = singleFlight.execute("/films/", () -> call(upstream));
+        upstream.complete("filmes");
+
+        assertEquals("filmes", first.join());
+        assertEquals("filmes", second.join());
+        assertEquals("filmes", singleFlight.execute("/films/", () -> call(new CompletableFuture<>())).join());
+        assertEquals(1, calls.get());
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        singleFlight.execute("/films/", () -> call(CompletableFuture.completedFuture("novos")));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar falhas nem deixar um chamador cancelar o resultado dos outros")
+    void shouldNotMemoizeFailures() {
+        SingleFlight<String> singleFlight = new SingleFlight<>(Duration.ofSeconds(1), now::get);
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("/films/", () -> call(upstream));
+        CompletableFuture<String> second = singleFlight.execute("/films/", () -> call(upstream));
+        first.cancel(true);
+        upstream.completeExceptionally(new IllegalStateException("SWAPI fora do ar"));
+
+        assertTrue(second.isCompletedExceptionally());
+        assertFalse(second.isCancelled());
+        assertEquals(0, singleFlight.size());
+        assertEquals("ok", singleFlight.execute("/films/", () -> call(CompletableFuture.completedFuture("ok"))).join());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Deve chamar de novo para chaves diferentes")
+    void shouldNotShareAcrossKeys() {
+        SingleFlight<String> singleFlight = new SingleFlight<>(Duration.ZERO, now::get);
+
+        singleFlight.execute("/films/1/", () -> call(CompletableFuture.completedFuture("1")));
+        singleFlight.execute("/films/2/", () -> call(CompletableFuture.completedFuture("2")));
+        singleFlight.execute("/films/1/", () -> call(CompletableFuture.completedFuture("1")));
+
+        assertEquals(3, calls.get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    private CompletableFuture<String> call(CompletableFuture<String> result) {
+        calls.incrementAndGet();
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package com.dam.starwars.api.client;
+
+import com.dam.starwars.common.exception.SwapiIntegrationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Swapi Http Transport Tests")
+class SwapiHttpTransportTest {
+
+    @Test
+    @DisplayName("Deve cancelar a chamada HTTP quando o tempo total se esgota")
+    void shouldCancelExchangeOnTotalTimeout() {
+        HttpClient httpClient = mock(HttpClient.class);
+        CompletableFuture<HttpResponse<byte[]>> exchange = new CompletableFuture<>();
+        when(httpClient.<byte[]>sendAsync(any(), any())).thenReturn(exchange);
+        SwapiResilience resilience = new SwapiResilience(10, Duration.ofSeconds(30), 8, 0, Duration.ofMillis(1), 0.2, 10);
+        SwapiHttpTransport transport = new SwapiHttpTransport(httpClient, resilience, Duration.ofSeconds(10),
+                Duration.ofMillis(50), true, Duration.ZERO);
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> transport.get("https://swapi.py4e.com/api/films/").join());
+
+        assertInstanceOf(SwapiIntegrationException.class, error.getCause());
+        assertTrue(exchange.isCancelled());
+    }
+}
@@ -0,0 +1,137 @@
+package com.dam.starwars.api.client;
+
+import com.dam.starwars.common.exception.SwapiIntegrationException;
+import com.dam.starwars.common.exception.SwapiUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Swapi Resilience Tests")
+class SwapiResilienceTest {
+
+    @Test
+    @DisplayName("Deve deixar passar uma única chamada de teste com o circuito meio aberto")
+    void shouldProbeOnceWhenHalfOpen() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofSeconds(30), now::get);
+
+        breaker.onFailure(breaker.tryAcquire());
+        breaker.onFailure(breaker.tryAcquire());
+        assertNull(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        CircuitBreaker.Permit probe = breaker.tryAcquire();
+        assertTrue(probe.probe());
+        assertNull(breaker.tryAcquire());
+        breaker.onFailure(probe);
+        assertNull(breaker.tryAcquire());
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        breaker.onSuccess(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertNotNull(breaker.tryAcquire());
+        assertNotNull(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar resultados de chamadas liberadas antes de o circuito abrir")
+    void shouldIgnoreStaleOutcomes() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(30), now::get);
+
+        CircuitBreaker.Permit slow = breaker.tryAcquire();
+        CircuitBreaker.Permit lateFailure = breaker.tryAcquire();
+        breaker.onFailure(breaker.tryAcquire());
+        breaker.onSuccess(slow);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        CircuitBreaker.Permit probe = breaker.tryAcquire();
+        breaker.onFailure(lateFailure);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertNull(breaker.tryAcquire());
+
+        breaker.onSuccess(probe);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    @DisplayName("Deve limitar as novas tentativas ao orçamento")
+    void shouldLimitRetriesToBudget() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+    }
+
+    @Test
+    @DisplayName("Deve repetir falhas da SWAPI mas não respostas 4xx")
+    void shouldRetryOnlyUpstreamFailures() {
+        SwapiResilience resilience = new SwapiResilience(10, Duration.ofSeconds(30), 8, 2, Duration.ofMillis(1), 0.2, 10);
+        AtomicInteger serverErrors = new AtomicInteger();
+        AtomicInteger notFound = new AtomicInteger();
+
+        CompletableFuture<String> failing = resilience.call("/films/", () -> {
+            serverErrors.incrementAndGet();
+            return CompletableFuture.failedFuture(new SwapiStatusException(502, "/films/"));
+        });
+        CompletableFuture<String> missing = resilience.call("/films/9/", () -> {
+            notFound.incrementAndGet();
+            return CompletableFuture.failedFuture(new SwapiStatusException(404, "/films/9/"));
+        });
+
+        assertInstanceOf(SwapiStatusException.class, assertThrows(CompletionException.class, failing::join).getCause());
+        assertInstanceOf(SwapiStatusException.class, assertThrows(CompletionException.class, missing::join).getCause());
+        assertEquals(3, serverErrors.get());
+        assertEquals(1, notFound.get());
+        assertEquals("CLOSED", resilience.circuitState());
+    }
+
+    @Test
+    @DisplayName("Deve recusar chamadas acima do limite de simultâneas")
+    void shouldRejectCallsAboveBulkhead() {
+        SwapiResilience resilience = new SwapiResilience(10, Duration.ofSeconds(30), 1, 0, Duration.ofMillis(1), 0.2, 10);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = resilience.call("/films/1/", () -> pending);
+        CompletableFuture<String> second = resilience.call("/films/2/", () -> CompletableFuture.completedFuture("ok"));
+
+        assertInstanceOf(SwapiUnavailableException.class, assertThrows(CompletionException.class, second::join).getCause());
+        pending.complete("ok");
+        assertEquals("ok", first.join());
+        assertEquals("ok", resilience.call("/films/3/", () -> CompletableFuture.completedFuture("ok")).join());
+    }
+
+    @Test
+    @DisplayName("Deve falhar na hora com o circuito aberto")
+    void shouldFailFastWhenOpen() {
+        SwapiResilience resilience = new SwapiResilience(1, Duration.ofMinutes(1), 8, 0, Duration.ofMillis(1), 0.2, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        resilience.call("/films/", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.<String>failedFuture(new SwapiIntegrationException("timeout"));
+        }).exceptionally(error -> null).join();
+        CompletableFuture<String> rejected = resilience.call("/films/", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        assertInstanceOf(SwapiUnavailableException.class, assertThrows(CompletionException.class, rejected::join).getCause());
+        assertEquals(1, calls.get());
+        assertEquals("OPEN", resilience.circuitState());
+    }
+}
@@ -0,0 +1,147 @@
+package com.dam.starwars.api.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Servidor HTTP local que imita a SWAPI nos testes. Cada rota responde com um
+ * corpo fixo e o servidor registra quantas vezes cada caminho foi chamado e o
+ * pico de requisições simultâneas.
+ */
+public class SwapiStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Map<String, StubResponse> responses = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger gzipped = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private volatile long delayMillis;
+    private volatile boolean gzip;
+    private volatile boolean eTags;
+
+    public SwapiStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api";
+    }
+
+    public SwapiStubServer respond(String pathAndQuery, int status, String body) {
+        responses.put(pathAndQuery, new StubResponse(status, body));
+        return this;
+    }
+
+    public SwapiStubServer respond(String pathAndQuery, String body) {
+        return respond(pathAndQuery, 200, body);
+    }
+
+    public SwapiStubServer delay(long millis) {
+        this.delayMillis = millis;
+        return this;
+    }
+
+    /**
+     * Passa a compactar com gzip as respostas de quem envia {@code Accept-Encoding: gzip}.
+     */
+    public SwapiStubServer gzip() {
+        this.gzip = true;
+        return this;
+    }
+
+    /**
+     * Passa a enviar ETag e a responder 304 quando {@code If-None-Match} bate com o corpo atual.
+     */
+    public SwapiStubServer eTags() {
+        this.eTags = true;
+        return this;
+    }
+
+    public int notModifiedResponses() {
+        return notModified.get();
+    }
+
+    public int gzippedResponses() {
+        return gzipped.get();
+    }
+
+    public int hits(String pathAndQuery) {
+        AtomicInteger count = hits.get(pathAndQuery);
+        return count != null ? count.get() : 0;
+    }
+
+    public int maxConcurrentRequests() {
+        return maxInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String key = exchange.getRequestURI().getRawPath()
+                + (exchange.getRequestURI().getRawQuery() != null ? "?" + exchange.getRequestURI().getRawQuery() : "");
+        hits.computeIfAbsent(key, ignored -> new AtomicInteger()).incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+            StubResponse response = responses.getOrDefault(key, new StubResponse(404, "{\"detail\":\"Not found\"}"));
+            byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+            if (eTags && response.status() == 200) {
+                String eTag = "\"" + Integer.toHexString(response.body().hashCode()) + "\"";
+                exchange.getResponseHeaders().set("ETag", eTag);
+                if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    notModified.incrementAndGet();
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+            }
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (gzip && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                body = compress(body);
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                gzipped.incrementAndGet();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private static byte[] compress(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private record StubResponse(int status, String body) {
+    }
+}
@@ -1,11 +1,19 @@
 package com.dam.starwars.api.controller;
 
-import com.dam.starwars.api.dto.FilmDetailResponse;
-import com.dam.starwars.api.dto.FilmResponse;
+import com.dam.starwars.api.dto.BulkUpdateDescriptionRequest;
+import com.dam.starwars.api.dto.BulkUpdateDescriptionResponse;
 import com.dam.starwars.api.dto.UpdateDescriptionRequest;
+import com.dam.starwars.api.mapper.FilmCatalogRenderer;
 import com.dam.starwars.api.mapper.FilmMapper;
 import com.dam.starwars.common.exception.FilmNotFoundException;
+import com.dam.starwars.common.exception.VersionConflictException;
+import com.dam.starwars.domain.model.CatalogFreshness;
+import com.dam.starwars.domain.model.DescriptionUpdate;
+import com.dam.starwars.domain.model.DescriptionUpdateResult;
 import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.FilmCatalogSnapshot;
+import com.dam.starwars.domain.model.FilmSearchHit;
+import com.dam.starwars.domain.model.SwapiResource;
 import com.dam.starwars.domain.service.FilmService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,21 +22,36 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.time.LocalDate;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @DisplayName("Film Controller Tests")
 @WebMvcTest(FilmController.class)
+@Import(FilmCatalogRenderer.class)
 class FilmControllerTest {
 
     @Autowired
@@ -37,7 +60,7 @@ class FilmControllerTest {
     @MockBean
     private FilmService filmService;
 
-    @MockBean
+    @SpyBean
     private FilmMapper filmMapper;
 
     @Autowired
@@ -45,7 +68,6 @@ class FilmControllerTest {
 
     private List<Film> mockFilms;
     private Film mockFilm;
-    private List<FilmResponse> mockFilmResponses;
 
     @BeforeEach
     void setUp() {
@@ -64,40 +86,13 @@ class FilmControllerTest {
         secondFilm.setLastModified(LocalDateTime.now());
 
         mockFilms = Arrays.asList(mockFilm, secondFilm);
-
-        FilmResponse mockFilmResponse = new FilmResponse(
-                "A New Hope",
-                4,
-                "It is a period of civil war...",
-                "George Lucas",
-                "Gary Kurtz, Rick McCallum",
-                LocalDate.of(1977, 5, 25),
-                1,
-                null,
-                LocalDateTime.now()
-        );
-
-        FilmResponse secondFilmResponse = new FilmResponse(
-                "The Empire Strikes Back",
-                5,
-                "It is a dark time...",
-                "Irvin Kershner",
-                "Gary Kurtz, Rick McCallum",
-                LocalDate.of(1980, 5, 17),
-                1,
-                null,
-                LocalDateTime.now()
-        );
-
-        mockFilmResponses = Arrays.asList(mockFilmResponse, secondFilmResponse);
     }
 
     @Test
     @DisplayName("Deve retornar a lista de filmes")
     void shouldGetAllFilms() throws Exception {
-        when(filmService.getAllFilms()).thenReturn(mockFilms);
-        when(filmMapper.toFilmResponse(mockFilms.get(0))).thenReturn(mockFilmResponses.get(0));
-        when(filmMapper.toFilmResponse(mockFilms.get(1))).thenReturn(mockFilmResponses.get(1));
+        FilmCatalogSnapshot snapshot = new FilmCatalogSnapshot("a1", 1, System.currentTimeMillis(), mockFilms);
+        when(filmService.getCatalogSnapshot()).thenReturn(snapshot);
 
         mockMvc.perform(get("/api/films"))
                 .andExpect(status().isOk())
@@ -106,42 +101,232 @@ class FilmControllerTest {
                 .andExpect(jsonPath("$[0].title").value("A New Hope"))
                 .andExpect(jsonPath("$[0].episode_id").value(4))
                 .andExpect(jsonPath("$[1].title").value("The Empire Strikes Back"))
-                .andExpect(jsonPath("$[1].episode_id").value(5));
+                .andExpect(jsonPath("$[1].episode_id").value(5))
+                .andExpect(header().string("ETag", "\"catalog-a1-1\""));
+        mockMvc.perform(get("/api/films"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        // o snapshot é renderizado uma única vez, e não a cada requisição
+        verify(filmMapper, times(2)).toFilmResponse(any());
+    }
+
+    @Test
+    @DisplayName("Deve paginar, ordenar e projetar a lista de filmes")
+    void shouldPageSortAndProjectFilms() throws Exception {
+        FilmCatalogSnapshot snapshot = new FilmCatalogSnapshot("a1", 1, System.currentTimeMillis(), mockFilms);
+        when(filmService.getCatalogSnapshot()).thenReturn(snapshot);
+
+        String nextCursor = mockMvc.perform(get("/api/films")
+                        .param("sort", "-release_date")
+                        .param("limit", "1")
+                        .param("fields", "title,episode_id"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"title\":\"The Empire Strikes Back\",\"episode_id\":5}]", true))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/films")
+                        .param("cursor", nextCursor)
+                        .param("fields", "title,episode_id"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"title\":\"A New Hope\",\"episode_id\":4}]", true))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    @DisplayName("Deve filtrar a lista por diretor e ano")
+    void shouldFilterFilmsByDirectorAndYear() throws Exception {
+        FilmCatalogSnapshot snapshot = new FilmCatalogSnapshot("a1", 1, System.currentTimeMillis(), mockFilms);
+        when(filmService.getCatalogSnapshot()).thenReturn(snapshot);
+
+        mockMvc.perform(get("/api/films")
+                        .param("director", "irvin kershner")
+                        .param("year", "1977..1983"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].episode_id").value(5));
+
+        mockMvc.perform(get("/api/films").param("producer", "Gary Kurtz").param("year", "1977"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].episode_id").value(4));
+    }
+
+    @Test
+    @DisplayName("Deve retornar os resultados da busca textual")
+    void shouldSearchFilms() throws Exception {
+        when(filmService.searchFilms("death star", 20))
+                .thenReturn(List.of(new FilmSearchHit(mockFilm, 1.5)));
+
+        mockMvc.perform(get("/api/films/search").param("q", "death star"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].film.episode_id").value(4))
+                .andExpect(jsonPath("$[0].score").value(1.5));
+
+        mockMvc.perform(get("/api/films/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/films/search").param("q", "death").param("limit", "5000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 para parâmetros de listagem inválidos")
+    void shouldRejectInvalidListingParameters() throws Exception {
+        FilmCatalogSnapshot snapshot = new FilmCatalogSnapshot("a1", 1, System.currentTimeMillis(), mockFilms);
+        when(filmService.getCatalogSnapshot()).thenReturn(snapshot);
+
+        mockMvc.perform(get("/api/films").param("sort", "title"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Parâmetro Inválido"));
+        mockMvc.perform(get("/api/films").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/films").param("fields", "characters"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/films").param("year", "1983..1977"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 quando o catálogo não mudou")
+    void shouldReturnNotModifiedWhenCatalogETagMatches() throws Exception {
+        FilmCatalogSnapshot snapshot = new FilmCatalogSnapshot("a1", 3, System.currentTimeMillis(), mockFilms);
+        when(filmService.getCatalogSnapshot()).thenReturn(snapshot);
+
+        mockMvc.perform(get("/api/films").header("If-None-Match", "\"catalog-a1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(filmMapper);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 quando a versão do filme não mudou")
+    void shouldReturnNotModifiedWhenFilmETagMatches() throws Exception {
+        when(filmService.getFilmByEpisode(4)).thenReturn(mockFilm);
+
+        mockMvc.perform(get("/api/films/4").header("If-None-Match", "\"4-1-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"4-1-0\""));
+
+        verifyNoInteractions(filmMapper);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 quando o filme não foi modificado desde a data informada")
+    void shouldReturnNotModifiedWhenFilmNotModifiedSince() throws Exception {
+        when(filmService.getFilmByEpisode(4)).thenReturn(mockFilm);
+        String ifModifiedSince = DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1));
+
+        mockMvc.perform(get("/api/films/4").header("If-Modified-Since", ifModifiedSince))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(filmMapper);
     }
 
     @Test
     @DisplayName("Deve retornar detalhes do filme por episódio")
     void shouldGetFilmDetails() throws Exception {
-        FilmDetailResponse updatedFilmResponse = new FilmDetailResponse(
-                "A New Hope",
-                4,
-                "It is a period of civil war...",
-                "George Lucas",
-                "Gary Kurtz, Rick McCallum",
-                LocalDate.of(1977, 5, 25).toString(),
-                List.of("https://swapi.py4e.com/api/people/1/", "https://swapi.py4e.com/api/people/2/"),
-                List.of("https://swapi.py4e.com/api/planets/1/", "https://swapi.py4e.com/api/planets/2/"),
-                List.of("https://swapi.py4e.com/api/starships/1/", "https://swapi.py4e.com/api/starships/2/"),
-                List.of("https://swapi.py4e.com/api/vehicles/1/", "https://swapi.py4e.com/api/vehicles/2/"),
-                List.of("https://swapi.py4e.com/api/species/1/", "https://swapi.py4e.com/api/species/2/"),
-                LocalDateTime.now(),
-                LocalDateTime.now(),
-                "https://swapi.py4e.com/api/films/4/",
-                2,
-                "Nova descrição personalizada",
-                LocalDateTime.now(),
-                "Introdução à saga Star Wars"
-        );
+        mockFilm.setCharacters(List.of("https://swapi.py4e.com/api/people/1/", "https://swapi.py4e.com/api/people/2/"));
+        mockFilm.setUrl("https://swapi.py4e.com/api/films/4/");
 
         when(filmService.getFilmByEpisode(4)).thenReturn(mockFilm);
-        when(filmMapper.toFilmDetailResponse(mockFilm)).thenReturn(updatedFilmResponse);
 
         mockMvc.perform(get("/api/films/4"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.title").value("A New Hope"))
                 .andExpect(jsonPath("$.episode_id").value(4))
-                .andExpect(jsonPath("$.version").value(2));
+                .andExpect(jsonPath("$.release_date").value("1977-05-25"))
+                .andExpect(jsonPath("$.characters[1]").value("https://swapi.py4e.com/api/people/2/"))
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(header().string("ETag", "\"4-1-0\""))
+                .andExpect(content().json(objectMapper.writeValueAsString(
+                        new FilmMapper().toFilmDetailResponse(mockFilm)), true));
+        verifyNoInteractions(filmMapper);
+    }
+
+    @Test
+    @DisplayName("Deve informar nos headers que o catálogo está velho")
+    void shouldReportStaleCatalogInHeaders() throws Exception {
+        Instant syncedAt = Instant.parse("2024-01-15T10:30:00Z");
+        when(filmService.getCatalogFreshness()).thenReturn(new CatalogFreshness(syncedAt, true));
+        when(filmService.getFilmByEpisode(4)).thenReturn(mockFilm);
+
+        mockMvc.perform(get("/api/films/4"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Catalog-Stale", "true"))
+                .andExpect(header().string("X-Catalog-Synced-At", "Mon, 15 Jan 2024 10:30:00 GMT"));
+    }
+
+    @Test
+    @DisplayName("Deve expandir as listas de recursos pedidas")
+    void shouldGetExpandedFilmDetails() throws Exception {
+        String luke = "https://swapi.py4e.com/api/people/1/";
+        String leia = "https://swapi.py4e.com/api/people/5/";
+        mockFilm.setCharacters(List.of(luke, leia));
+        mockFilm.setPlanets(List.of("https://swapi.py4e.com/api/planets/1/"));
+        when(filmService.getFilmByEpisode(4)).thenReturn(mockFilm);
+        when(filmService.resolveLinkedResources(Set.of(luke, leia)))
+                .thenReturn(Map.of(luke, new SwapiResource("Luke Skywalker", luke),
+                        leia, new SwapiResource("Leia Organa", leia)));
+
+        mockMvc.perform(get("/api/films/4").param("expand", "characters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.characters[0].name").value("Luke Skywalker"))
+                .andExpect(jsonPath("$.characters[1].url").value(leia))
+                .andExpect(jsonPath("$.planets[0]").value("https://swapi.py4e.com/api/planets/1/"))
+                .andExpect(header().string("ETag", "\"4-1-0\""));
+
+        mockMvc.perform(get("/api/films/4").param("expand", "title"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Deve omitir o ETag quando algum recurso expandido não foi resolvido")
+    void shouldOmitETagForIncompleteExpansion() throws Exception {
+        String luke = "https://swapi.py4e.com/api/people/1/";
+        mockFilm.setCharacters(List.of(luke));
+        when(filmService.getFilmByEpisode(4)).thenReturn(mockFilm);
+        when(filmService.resolveLinkedResources(Set.of(luke))).thenReturn(Map.of());
+
+        mockMvc.perform(get("/api/films/4").param("expand", "characters").header("If-None-Match", "\"4-0-0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.characters[0].url").value(luke))
+                .andExpect(jsonPath("$.characters[0].name").doesNotExist())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 ao expand sem resolver os recursos")
+    void shouldReturnNotModifiedBeforeResolvingExpansion() throws Exception {
+        String luke = "https://swapi.py4e.com/api/people/1/";
+        mockFilm.setCharacters(List.of(luke));
+        when(filmService.getFilmByEpisode(4)).thenReturn(mockFilm);
+
+        mockMvc.perform(get("/api/films/4").param("expand", "characters").header("If-None-Match", "W/\"4-1-0\""))
+                .andExpect(status().isNotModified());
+
+        verify(filmService, never()).resolveLinkedResources(any());
+    }
+
+    @Test
+    @DisplayName("Deve montar o expand direto do cache quando todos os recursos estão nele")
+    void shouldExpandFromCacheWithoutResolving() throws Exception {
+        String luke = "https://swapi.py4e.com/api/people/1/";
+        mockFilm.setCharacters(List.of(luke));
+        when(filmService.getFilmByEpisode(4)).thenReturn(mockFilm);
+        when(filmService.getCachedLinkedResources(Set.of(luke)))
+                .thenReturn(Map.of(luke, new SwapiResource("Luke Skywalker", luke)));
+
+        mockMvc.perform(get("/api/films/4").param("expand", "characters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.characters[0].name").value("Luke Skywalker"))
+                .andExpect(header().string("ETag", "\"4-1-0\""));
+
+        verify(filmService, never()).resolveLinkedResources(any());
     }
 
     @Test
@@ -168,29 +353,7 @@ class FilmControllerTest {
         updatedFilm.setVersion(2);
         updatedFilm.setLastModified(LocalDateTime.now());
 
-        FilmDetailResponse updatedFilmResponse = new FilmDetailResponse(
-                "A New Hope",
-                4,
-                "It is a period of civil war...",
-                "George Lucas",
-                "Gary Kurtz, Rick McCallum",
-                LocalDate.of(1977, 5, 25).toString(),
-                List.of("https://swapi.py4e.com/api/people/1/", "https://swapi.py4e.com/api/people/2/"),
-                List.of("https://swapi.py4e.com/api/planets/1/", "https://swapi.py4e.com/api/planets/2/"),
-                List.of("https://swapi.py4e.com/api/starships/1/", "https://swapi.py4e.com/api/starships/2/"),
-                List.of("https://swapi.py4e.com/api/vehicles/1/", "https://swapi.py4e.com/api/vehicles/2/"),
-                List.of("https://swapi.py4e.com/api/species/1/", "https://swapi.py4e.com/api/species/2/"),
-                LocalDateTime.now(),
-                LocalDateTime.now(),
-                "https://swapi.py4e.com/api/films/4/",
-                2,
-                newDescription,
-                LocalDateTime.now(),
-                "Introdução à saga Star Wars"
-        );
-
-        when(filmService.updateFilmDescription(eq(4), eq(newDescription))).thenReturn(updatedFilm);
-        when(filmMapper.toFilmDetailResponse(updatedFilm)).thenReturn(updatedFilmResponse);
+        when(filmService.updateFilmDescription(eq(4), eq(newDescription), isNull())).thenReturn(updatedFilm);
 
         mockMvc.perform(put("/api/films/4/description")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -203,6 +366,103 @@ class FilmControllerTest {
                 .andExpect(jsonPath("$.version").value(2));
     }
 
+    @Test
+    @DisplayName("Deve repassar só os ETags fortes do If-Match para a atualização")
+    void shouldPassStrongIfMatchTagsToUpdate() throws Exception {
+        UpdateDescriptionRequest request = new UpdateDescriptionRequest("Nova descrição");
+        Film updatedFilm = new Film("A New Hope", 4, "It is a period of civil war...");
+        updatedFilm.restoreLocalState(4, "Nova descrição", LocalDateTime.now());
+
+        when(filmService.updateFilmDescriptionIfMatch(4, "Nova descrição", List.of("\"5-3\"", "\"4-3\"")))
+                .thenReturn(updatedFilm);
+
+        mockMvc.perform(put("/api/films/4/description")
+                        .header("If-Match", "W/\"4-2\", \"5-3\",\"4-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4-4-0\""));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 412 quando a versão do If-Match não é a atual")
+    void shouldReturnPreconditionFailedOnVersionConflict() throws Exception {
+        UpdateDescriptionRequest request = new UpdateDescriptionRequest("Nova descrição");
+
+        when(filmService.updateFilmDescriptionIfMatch(4, "Nova descrição", List.of("\"4-1\"")))
+                .thenThrow(new VersionConflictException("Filme com episódio 4 está no ETag \"4-2\""));
+
+        mockMvc.perform(put("/api/films/4/description")
+                        .header("If-Match", "\"4-1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error").value("Conflito de Versão"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando o If-Match é malformado")
+    void shouldRejectMalformedIfMatch() throws Exception {
+        UpdateDescriptionRequest request = new UpdateDescriptionRequest("Nova descrição");
+
+        for (String ifMatch : List.of("1", "\"4-1", "\"4-1\"x", "*, \"4-1\"", " , ")) {
+            mockMvc.perform(put("/api/films/4/description")
+                            .header("If-Match", ifMatch)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("Parâmetro Inválido"));
+        }
+        verify(filmService, never()).updateFilmDescriptionIfMatch(any(), any(), any());
+        verify(filmService, never()).updateFilmDescription(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar descrições em lote")
+    void shouldUpdateFilmDescriptionsInBulk() throws Exception {
+        BulkUpdateDescriptionRequest request = new BulkUpdateDescriptionRequest(List.of(
+                new BulkUpdateDescriptionRequest.Item(4, "Nova esperança", 1),
+                new BulkUpdateDescriptionRequest.Item(999, "Inexistente", null)));
+        List<DescriptionUpdate> updates = List.of(
+                new DescriptionUpdate(4, "Nova esperança", 1),
+                new DescriptionUpdate(999, "Inexistente", null));
+        List<DescriptionUpdateResult> results = List.of(
+                DescriptionUpdateResult.updated(mockFilm),
+                DescriptionUpdateResult.failed(999, DescriptionUpdateResult.Status.NOT_FOUND,
+                        "Filme com episódio 999 não encontrado"));
+
+        when(filmMapper.toDescriptionUpdates(request)).thenReturn(updates);
+        when(filmService.updateFilmDescriptions(updates)).thenReturn(results);
+        when(filmMapper.toBulkUpdateDescriptionResponse(results)).thenReturn(new BulkUpdateDescriptionResponse(1, 1,
+                List.of(new BulkUpdateDescriptionResponse.Item(4, "UPDATED", 2, null),
+                        new BulkUpdateDescriptionResponse.Item(999, "NOT_FOUND", null,
+                                "Filme com episódio 999 não encontrado"))));
+
+        mockMvc.perform(put("/api/films/descriptions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$.results[0].version").value(2))
+                .andExpect(jsonPath("$.results[1].status").value("NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 400 quando um item do lote é inválido")
+    void shouldReturnBadRequestWhenBulkItemIsInvalid() throws Exception {
+        BulkUpdateDescriptionRequest request = new BulkUpdateDescriptionRequest(List.of(
+                new BulkUpdateDescriptionRequest.Item(4, "", null)));
+
+        mockMvc.perform(put("/api/films/descriptions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Falha de Validação"))
+                .andExpect(jsonPath("$.fieldErrors['updates[0].description']").value("Descrição não pode estar vazia"));
+    }
+
     @Test
     @DisplayName("Deve retornar erro 400 quando descrição é inválida")
     void shouldReturnBadRequestWhenDescriptionIsEmpty() throws Exception {
@@ -236,7 +496,7 @@ class FilmControllerTest {
         String newDescription = "Nova descrição";
         UpdateDescriptionRequest request = new UpdateDescriptionRequest(newDescription);
 
-        when(filmService.updateFilmDescription(eq(999), eq(newDescription)))
+        when(filmService.updateFilmDescription(eq(999), eq(newDescription), isNull()))
                 .thenThrow(new FilmNotFoundException("Filme com episódio 999 não encontrado"));
 
         mockMvc.perform(put("/api/films/999/description")
@@ -0,0 +1,119 @@
+package com.dam.starwars.api.controller;
+
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.service.FilmService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Film Export Controller Tests")
+@WebMvcTest(FilmExportController.class)
+class FilmExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private FilmService filmService;
+
+    private List<Film> films;
+
+    @BeforeEach
+    void setUp() {
+        Film firstFilm = new Film("A New Hope", 4, "It is a period of civil war...");
+        firstFilm.setCustomDescription("Descrição personalizada");
+        firstFilm.setVersion(2);
+        firstFilm.setLastModified(LocalDateTime.now());
+        firstFilm.setCharacters(List.of("https://swapi.py4e.com/api/people/1/"));
+
+        Film secondFilm = new Film("The Empire Strikes Back", 5, "It is a dark time...");
+        secondFilm.setVersion(1);
+        secondFilm.setLastModified(LocalDateTime.now());
+
+        films = List.of(firstFilm, secondFilm);
+    }
+
+    @Test
+    @DisplayName("Deve exportar o catálogo em NDJSON com um filme completo por linha")
+    void shouldExportCatalogAsNdjson() throws Exception {
+        when(filmService.streamFilms()).thenReturn(films.stream());
+
+        MvcResult result = mockMvc.perform(get("/api/films/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().doesNotExist("Content-Encoding"));
+
+        assertLines(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve compactar a exportação em gzip quando o cliente aceita")
+    void shouldGzipExportWhenAccepted() throws Exception {
+        when(filmService.streamFilms()).thenReturn(films.stream());
+
+        MvcResult result = mockMvc.perform(get("/api/films/export").header("Accept-Encoding", "br, gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"));
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertLines(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ignorar gzip recusado com q=0")
+    void shouldNotGzipWhenRefused() throws Exception {
+        when(filmService.streamFilms()).thenReturn(films.stream());
+
+        MvcResult result = mockMvc.perform(get("/api/films/export").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(header().doesNotExist("Content-Encoding"));
+
+        assertLines(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private void assertLines(String body) throws Exception {
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("A New Hope", first.get("title").asText());
+        assertEquals(4, first.get("episode_id").asInt());
+        assertEquals("Descrição personalizada", first.get("customDescription").asText());
+        assertEquals("https://swapi.py4e.com/api/people/1/", first.get("characters").get(0).asText());
+        assertEquals(5, objectMapper.readTree(lines[1]).get("episode_id").asInt());
+    }
+}
@@ -0,0 +1,61 @@
+package com.dam.starwars.api.controller;
+
+import com.dam.starwars.api.stream.FilmChangeStream;
+import com.dam.starwars.domain.model.FilmChangeEvent;
+import com.dam.starwars.domain.service.FilmService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@DisplayName("Film Stream Controller Tests")
+@WebMvcTest(FilmStreamController.class)
+@Import(FilmChangeStream.class)
+class FilmStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilmChangeStream filmChangeStream;
+
+    @MockBean
+    private FilmService filmService;
+
+    @Test
+    @DisplayName("Deve enviar eventos de alteração aos assinantes")
+    void shouldPushChangeEventsToSubscribers() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/films/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(1, filmChangeStream.getSubscriberCount());
+
+        filmChangeStream.onFilmChanged(new FilmChangeEvent(4, 2, 1, Set.of("customDescription")));
+
+        String body = awaitBody(result, "\"changed\"");
+        assertTrue(body.contains("event:film-changed"));
+        assertTrue(body.contains("id:4-2-1"));
+        assertTrue(body.contains("\"episode_id\":4"));
+        assertTrue(body.contains("\"changed\":[\"customDescription\"]"));
+    }
+
+    private static String awaitBody(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = result.getResponse().getContentAsString();
+        }
+        return body;
+    }
+}
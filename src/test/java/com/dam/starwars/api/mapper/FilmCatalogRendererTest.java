@@ -0,0 +1,71 @@
+package com.dam.starwars.api.mapper;
+
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.FilmCatalogSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Film Catalog Renderer Tests")
+class FilmCatalogRendererTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private FilmMapper filmMapper;
+    private FilmCatalogRenderer renderer;
+    private Film hope;
+    private Film empire;
+
+    @BeforeEach
+    void setUp() {
+        filmMapper = spy(new FilmMapper());
+        renderer = new FilmCatalogRenderer(filmMapper, objectMapper);
+
+        hope = new Film("A New Hope", 4, "It is a period of civil war...");
+        hope.setReleaseDate("1977-05-25");
+        hope.setLastModified(LocalDateTime.of(2024, 1, 1, 12, 0));
+        empire = new Film("The Empire Strikes Back", 5, "It is a dark time...");
+        empire.setReleaseDate("1980-05-17");
+    }
+
+    @Test
+    @DisplayName("Deve gerar o mesmo JSON da lista mapeada e serializada de uma vez")
+    void shouldRenderSameJsonAsMappedList() throws Exception {
+        FilmCatalogSnapshot snapshot = new FilmCatalogSnapshot("a1", 1, 0, List.of(hope, empire));
+
+        byte[] json = renderer.render(snapshot);
+
+        assertEquals(objectMapper.writeValueAsString(List.of(new FilmMapper().toFilmResponse(hope),
+                new FilmMapper().toFilmResponse(empire))), new String(json));
+        assertEquals("[]", new String(renderer.render(new FilmCatalogSnapshot("a1", 2, 0, List.of()))));
+    }
+
+    @Test
+    @DisplayName("Deve renderizar cada snapshot uma vez e só serializar de novo os filmes alterados")
+    void shouldRenderOnlyChangedFilms() throws Exception {
+        FilmCatalogSnapshot first = new FilmCatalogSnapshot("a1", 1, 0, List.of(hope, empire));
+        byte[] json = renderer.render(first);
+        assertSame(json, renderer.render(first));
+        verify(filmMapper, times(2)).toFilmResponse(any());
+
+        Film updatedHope = hope.withCustomDescription("Nova descrição");
+        byte[] updated = renderer.render(new FilmCatalogSnapshot("a1", 2, 0, List.of(updatedHope, empire)));
+
+        verify(filmMapper).toFilmResponse(updatedHope);
+        verify(filmMapper, times(3)).toFilmResponse(any());
+        assertEquals("Nova descrição", objectMapper.readTree(updated).get(0).get("customDescription").asText());
+        assertEquals(5, objectMapper.readTree(updated).get(1).get("episode_id").asInt());
+    }
+}
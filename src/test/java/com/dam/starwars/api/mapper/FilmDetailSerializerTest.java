@@ -0,0 +1,108 @@
+package com.dam.starwars.api.mapper;
+
+import com.dam.starwars.api.dto.FilmDetailView;
+import com.dam.starwars.common.exception.InvalidQueryException;
+import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.SwapiResource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Film Detail Serializer Tests")
+class FilmDetailSerializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final FilmMapper filmMapper = new FilmMapper();
+
+    @Test
+    @DisplayName("Deve gerar os mesmos bytes do DTO para um filme completo")
+    void shouldMatchDtoBytesForCompleteFilm() throws Exception {
+        Film film = new Film("A New Hope", 4, "It is a period of civil war.\r\nRebel \"spaceships\"...");
+        film.setDirector("George Lucas");
+        film.setProducer("Gary Kurtz, Rick McCallum");
+        film.setReleaseDate("1977-05-25");
+        film.setCharacters(List.of("https://swapi.py4e.com/api/people/1/", "https://swapi.py4e.com/api/people/2/"));
+        film.setPlanets(List.of("https://swapi.py4e.com/api/planets/1/"));
+        film.setStarships(List.of());
+        film.setVehicles(List.of("https://swapi.py4e.com/api/vehicles/4/", "https://other.example/vehicles/x"));
+        film.setSpecies(Arrays.asList("https://swapi.py4e.com/api/species/1/", null));
+        film.setCreated(LocalDateTime.of(2014, 12, 10, 14, 23, 31, 880_000_000));
+        film.setEdited(LocalDateTime.of(2014, 12, 20, 19, 49, 45));
+        film.setUrl("https://swapi.py4e.com/api/films/1/");
+        film.setCustomDescription("Filme clássico — ação");
+
+        assertSameJson(film);
+    }
+
+    @Test
+    @DisplayName("Deve omitir campos nulos como o DTO")
+    void shouldOmitNullFieldsLikeDto() throws Exception {
+        Film film = new Film();
+        film.setLastModified(null);
+        film.setVersion(null);
+
+        assertSameJson(film);
+        assertEquals("{}", objectMapper.writeValueAsString(new FilmDetailView(film)));
+    }
+
+    @Test
+    @DisplayName("Deve gerar os mesmos bytes do DTO com descrição padrão")
+    void shouldMatchDtoBytesWithDefaultDescription() throws Exception {
+        Film film = new Film("The Empire Strikes Back", 5, "It is a dark time for the Rebellion.");
+        film.setReleaseDate("data-invalida");
+
+        assertSameJson(film);
+    }
+
+    @Test
+    @DisplayName("Deve escrever as listas expandidas com nome e URL")
+    void shouldWriteExpandedLists() throws Exception {
+        Film film = new Film("A New Hope", 4, null);
+        film.setCharacters(List.of("https://swapi.py4e.com/api/people/1/", "https://swapi.py4e.com/api/people/2/"));
+        film.setPlanets(List.of("https://swapi.py4e.com/api/planets/1/"));
+        film.setVersion(null);
+        film.setLastModified(null);
+        Set<String> expand = FilmDetailSerializer.parseExpand("characters, planets");
+        Map<String, SwapiResource> resources = Map.of(
+                "https://swapi.py4e.com/api/people/1/",
+                new SwapiResource("Luke Skywalker", "https://swapi.py4e.com/api/people/1/"),
+                "https://swapi.py4e.com/api/planets/1/",
+                new SwapiResource("Tatooine", "https://swapi.py4e.com/api/planets/1/"));
+
+        String json = objectMapper.writeValueAsString(new FilmDetailView(film, expand, resources));
+
+        assertEquals("{\"episode_id\":4,\"title\":\"A New Hope\",\"characters\":["
+                + "{\"name\":\"Luke Skywalker\",\"url\":\"https://swapi.py4e.com/api/people/1/\"},"
+                + "{\"url\":\"https://swapi.py4e.com/api/people/2/\"}],"
+                + "\"planets\":[{\"name\":\"Tatooine\",\"url\":\"https://swapi.py4e.com/api/planets/1/\"}]}", json);
+        assertEquals(Set.of("https://swapi.py4e.com/api/people/1/", "https://swapi.py4e.com/api/people/2/",
+                "https://swapi.py4e.com/api/planets/1/"), FilmDetailSerializer.linkedUrls(film, expand));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar campo não expansível")
+    void shouldRejectUnknownExpandField() {
+        assertThrows(InvalidQueryException.class, () -> FilmDetailSerializer.parseExpand("characters,title"));
+    }
+
+    private void assertSameJson(Film film) throws Exception {
+        byte[] expected = objectMapper.writeValueAsBytes(filmMapper.toFilmDetailResponse(film));
+        byte[] actual = objectMapper.writeValueAsBytes(new FilmDetailView(film));
+
+        assertArrayEquals(expected, actual, () -> new String(expected, StandardCharsets.UTF_8)
+                + "\n" + new String(actual, StandardCharsets.UTF_8));
+    }
+}
@@ -1,7 +1,8 @@
 package com.dam.starwars.api.mapper;
 
+import com.dam.starwars.api.dto.BulkUpdateDescriptionResponse;
 import com.dam.starwars.api.dto.FilmResponse;
-import com.dam.starwars.common.exception.DateParseException;
+import com.dam.starwars.domain.model.DescriptionUpdateResult;
 import com.dam.starwars.domain.model.Film;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -70,15 +71,16 @@ class FilmMapperTest {
     }
 
     @Test
-    @DisplayName("Deve lançar exceção para data de lançamento inválida")
-    void shouldThrowExceptionForInvalidReleaseDate() {
+    @DisplayName("Deve mapear data de lançamento inválida como nula sem lançar exceção")
+    void shouldMapInvalidReleaseDateAsNull() {
         Film film = new Film();
         film.setTitle("Test Title");
         film.setReleaseDate("invalid-date");
 
-        assertThrows(DateParseException.class, () -> {
-            filmMapper.toFilmResponse(film);
-        });
+        FilmResponse result = filmMapper.toFilmResponse(film);
+
+        assertTrue(film.hasMalformedReleaseDate());
+        assertNull(result.release_date());
     }
 
     @Test
@@ -94,6 +96,40 @@ class FilmMapperTest {
         assertNull(result.release_date());
     }
 
+    @Test
+    @DisplayName("Deve formatar o crawl junto com o texto e reaproveitá-lo nas novas versões")
+    void shouldFormatOpeningCrawlOnceWithText() {
+        Film film = createSampleFilm();
+        film.setOpeningCrawl("Turmoil  has\r\nengulfed   the Galactic Republic.");
+
+        String first = filmMapper.toFilmResponse(film).opening_crawl();
+        Film nextVersion = film.withCustomDescription("Nova descrição");
+
+        assertEquals("Turmoil has engulfed the Galactic Republic.", first);
+        assertSame(first, film.getFormattedOpeningCrawl());
+        assertSame(first, filmMapper.toFilmResponse(nextVersion).opening_crawl());
+        assertEquals(film.getVersion() + 1, nextVersion.getVersion());
+        assertEquals("Filme clássico", film.getCustomDescription());
+
+        film.setOpeningCrawl("A  new\ttext");
+        assertEquals("A new text", filmMapper.toFilmResponse(film).opening_crawl());
+    }
+
+    @Test
+    @DisplayName("Deve mapear resultados do lote com contagem de atualizados e rejeitados")
+    void shouldMapBulkUpdateResults() {
+        Film film = createSampleFilm();
+
+        BulkUpdateDescriptionResponse result = filmMapper.toBulkUpdateDescriptionResponse(List.of(
+                DescriptionUpdateResult.updated(film),
+                DescriptionUpdateResult.failed(5, DescriptionUpdateResult.Status.CONFLICT, "conflito")));
+
+        assertEquals(1, result.updated());
+        assertEquals(1, result.failed());
+        assertEquals(new BulkUpdateDescriptionResponse.Item(4, "UPDATED", 2, null), result.results().get(0));
+        assertEquals(new BulkUpdateDescriptionResponse.Item(5, "CONFLICT", null, "conflito"), result.results().get(1));
+    }
+
     private Film createSampleFilm() {
         Film film = new Film();
         film.setTitle("A New Hope");
@@ -107,7 +143,7 @@ class FilmMapperTest {
         film.setStarships(List.of("https://swapi.dev/api/starships/2/"));
         film.setVehicles(List.of("https://swapi.dev/api/vehicles/4/"));
         film.setSpecies(List.of("https://swapi.dev/api/species/1/"));
-        film.setVersion(1);
+        film.setVersion(2);
         film.setCustomDescription("Filme clássico");
         film.setLastModified(LocalDateTime.now());
         return film;
@@ -0,0 +1,60 @@
+package com.dam.starwars.api.mapper;
+
+import com.dam.starwars.api.dto.FilmProjectionView;
+import com.dam.starwars.common.exception.InvalidQueryException;
+import com.dam.starwars.domain.model.Film;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Film Projection Serializer Tests")
+class FilmProjectionSerializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final List<Film> films = List.of(newHope(), new Film("The Empire Strikes Back", 5, null));
+
+    @Test
+    @DisplayName("Deve escrever apenas os campos pedidos")
+    void shouldWriteOnlySelectedFields() throws Exception {
+        String json = objectMapper.writeValueAsString(
+                new FilmProjectionView(films, FilmProjectionSerializer.parseFields("episode_id, title")));
+
+        assertEquals("[{\"title\":\"A New Hope\",\"episode_id\":4},"
+                + "{\"title\":\"The Empire Strikes Back\",\"episode_id\":5}]", json);
+    }
+
+    @Test
+    @DisplayName("Deve gerar o mesmo JSON da lista completa quando todos os campos forem pedidos")
+    void shouldMatchFullSerializationWithAllFields() throws Exception {
+        String projected = objectMapper.writeValueAsString(
+                new FilmProjectionView(films, Set.copyOf(FilmProjectionSerializer.FIELDS)));
+
+        assertEquals(objectMapper.writeValueAsString(new FilmMapper().toFilmResponses(films)), projected);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar campo desconhecido")
+    void shouldRejectUnknownField() {
+        assertThrows(InvalidQueryException.class, () -> FilmProjectionSerializer.parseFields("title,characters"));
+    }
+
+    private static Film newHope() {
+        Film film = new Film("A New Hope", 4, "It is a period of civil war...");
+        film.setDirector("George Lucas");
+        film.setProducer("Gary Kurtz, Rick McCallum");
+        film.setReleaseDate("1977-05-25");
+        film.restoreLocalState(2, "Clássico", LocalDateTime.of(2024, 1, 15, 10, 30));
+        return film;
+    }
+}
@@ -0,0 +1,59 @@
+package com.dam.starwars.api.stream;
+
+import com.dam.starwars.domain.model.FilmChangeEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Coalescing Event Buffer Tests")
+class CoalescingEventBufferTest {
+
+    @Test
+    @DisplayName("Deve pedir entrega apenas no primeiro evento de uma rodada")
+    void shouldRequestDeliveryOncePerRound() {
+        CoalescingEventBuffer buffer = new CoalescingEventBuffer(10);
+
+        assertTrue(buffer.offer(event(4, 2, "version")));
+        assertFalse(buffer.offer(event(5, 2, "version")));
+
+        assertEquals(2, buffer.drain().events().size());
+        assertTrue(buffer.drain().isEmpty());
+        assertTrue(buffer.offer(event(4, 3, "version")));
+    }
+
+    @Test
+    @DisplayName("Deve combinar eventos pendentes do mesmo episódio")
+    void shouldCoalesceEventsOfSameEpisode() {
+        CoalescingEventBuffer buffer = new CoalescingEventBuffer(10);
+
+        buffer.offer(event(4, 2, "customDescription"));
+        buffer.offer(event(4, 3, "director"));
+
+        List<FilmChangeEvent> events = buffer.drain().events();
+        assertEquals(1, events.size());
+        assertEquals(3, events.get(0).version());
+        assertEquals(List.of("customDescription", "director"), List.copyOf(events.get(0).changed()));
+    }
+
+    @Test
+    @DisplayName("Deve descartar o evento mais antigo quando o buffer estoura")
+    void shouldDropOldestEventWhenFull() {
+        CoalescingEventBuffer buffer = new CoalescingEventBuffer(2);
+
+        buffer.offer(event(1, 2, "version"));
+        buffer.offer(event(2, 2, "version"));
+        buffer.offer(event(3, 2, "version"));
+
+        CoalescingEventBuffer.Batch batch = buffer.drain();
+        assertEquals(1, batch.dropped());
+        assertEquals(List.of(2, 3), batch.events().stream().map(FilmChangeEvent::episodeId).toList());
+    }
+
+    private static FilmChangeEvent event(int episodeId, int version, String field) {
+        return new FilmChangeEvent(episodeId, version, 0, Set.of(field));
+    }
+}
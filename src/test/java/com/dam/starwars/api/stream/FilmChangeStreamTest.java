@@ -0,0 +1,101 @@
+package com.dam.starwars.api.stream;
+
+import com.dam.starwars.common.exception.StreamCapacityExceededException;
+import com.dam.starwars.domain.model.FilmChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Film Change Stream Tests")
+class FilmChangeStreamTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private FilmChangeStream stream;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        stream.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve entregar aos demais assinantes enquanto um deles está travado")
+    void shouldNotLetStalledSubscriberHoldOthers() throws Exception {
+        stream = new FilmChangeStream(16, Duration.ofMinutes(1), Duration.ofMinutes(1), 16, 100);
+        for (int i = 0; i < 8; i++) {
+            stream.subscribe(new StalledEmitter(release));
+        }
+        RecordingEmitter fast = new RecordingEmitter();
+        stream.subscribe(fast);
+
+        stream.onFilmChanged(new FilmChangeEvent(4, 2, 0, Set.of("customDescription")));
+
+        assertTrue(fast.received.await(5, TimeUnit.SECONDS));
+        assertEquals(9, stream.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Deve remover o assinante cujo envio excede o tempo limite")
+    void shouldDropSubscriberAfterWriteTimeout() throws Exception {
+        stream = new FilmChangeStream(16, Duration.ofMinutes(1), Duration.ofMillis(100), 16, 100);
+        stream.subscribe(new StalledEmitter(release));
+        stream.subscribe(new RecordingEmitter());
+
+        stream.onFilmChanged(new FilmChangeEvent(4, 2, 0, Set.of("customDescription")));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (stream.getSubscriberCount() > 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, stream.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Deve recusar assinaturas acima do limite de assinantes")
+    void shouldRejectSubscribersAboveLimit() {
+        stream = new FilmChangeStream(16, Duration.ofMinutes(1), Duration.ofMinutes(1), 2, 2);
+        stream.subscribe(new RecordingEmitter());
+        stream.subscribe(new RecordingEmitter());
+
+        assertThrows(StreamCapacityExceededException.class, () -> stream.subscribe(new RecordingEmitter()));
+        assertEquals(2, stream.getSubscriberCount());
+    }
+
+    private static final class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+
+        private StalledEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("conexão encerrada");
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch received = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            received.countDown();
+        }
+    }
+}
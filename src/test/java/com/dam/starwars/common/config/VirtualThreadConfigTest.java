@@ -0,0 +1,52 @@
+package com.dam.starwars.common.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Virtual Thread Config Tests")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "swapi.base-url=http://127.0.0.1:1/api",
+        "catalog.snapshot.enabled=false",
+        "catalog.journal.enabled=false"
+})
+class VirtualThreadConfigTest {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private HttpClient swapiHttpClient;
+
+    @Test
+    @DisplayName("Deve atender as requisições do Tomcat em virtual threads quando habilitado")
+    void shouldRunTomcatRequestsOnVirtualThreads() {
+        TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+        Executor executor = webServer.getTomcat().getConnector().getProtocolHandler().getExecutor();
+
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        executor.execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+
+        assertTrue(virtual.join());
+    }
+
+    @Test
+    @DisplayName("Deve tratar as respostas da SWAPI no executor de virtual threads gerenciado pelo contexto")
+    void shouldUseManagedVirtualThreadExecutorForSwapiClient() {
+        ExecutorService executor = context.getBean("swapiHttpExecutor", ExecutorService.class);
+
+        assertSame(executor, swapiHttpClient.executor().orElseThrow());
+        assertTrue(CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), executor).join());
+    }
+}
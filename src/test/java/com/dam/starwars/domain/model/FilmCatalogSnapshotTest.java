@@ -0,0 +1,139 @@
+package com.dam.starwars.domain.model;
+
+import com.dam.starwars.common.exception.InvalidQueryException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Film Catalog Snapshot Tests")
+class FilmCatalogSnapshotTest {
+
+    @Test
+    @DisplayName("Deve percorrer o catálogo em páginas seguindo o cursor")
+    void shouldPageThroughCatalogWithCursor() {
+        FilmCatalogSnapshot snapshot = snapshot(film(4, "1977-05-25"), film(1, "1999-05-19"), film(6, "1983-05-25"),
+                film(2, "2002-05-16"), film(5, "1980-05-17"));
+
+        List<Integer> episodes = new ArrayList<>();
+        FilmCursor cursor = null;
+        int pages = 0;
+        do {
+            FilmPage page = snapshot.page(FilmSort.RELEASE_DATE, false, cursor, 2);
+            page.films().forEach(film -> episodes.add(film.getEpisodeId()));
+            cursor = page.nextCursor() != null ? FilmCursor.decode(page.nextCursor()) : null;
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of(4, 5, 6, 1, 2), episodes);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar de forma decrescente e deixar filmes sem data no fim da ordem crescente")
+    void shouldSortDescendingAndKeepMissingDatesLast() {
+        FilmCatalogSnapshot snapshot = snapshot(film(4, "1977-05-25"), film(7, null), film(5, "1980-05-17"));
+
+        FilmPage ascending = snapshot.page(FilmSort.RELEASE_DATE, false, null, 10);
+        FilmPage descending = snapshot.page(FilmSort.RELEASE_DATE, true, null, 2);
+        FilmPage rest = snapshot.page(FilmSort.RELEASE_DATE, true, FilmCursor.decode(descending.nextCursor()), 2);
+
+        assertEquals(List.of(4, 5, 7), episodes(ascending));
+        assertNull(ascending.nextCursor());
+        assertEquals(List.of(7, 5), episodes(descending));
+        assertEquals(List.of(4), episodes(rest));
+        assertNull(rest.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Deve continuar do ponto certo quando o catálogo muda entre as páginas")
+    void shouldResumeAfterCursorKeyWhenCatalogChanges() {
+        FilmCatalogSnapshot before = snapshot(film(1, null), film(2, null), film(3, null), film(4, null));
+        FilmPage first = before.page(FilmSort.EPISODE, false, null, 2);
+
+        FilmCatalogSnapshot after = snapshot(film(1, null), film(3, null), film(4, null), film(5, null));
+        FilmPage second = after.page(FilmSort.EPISODE, false, FilmCursor.decode(first.nextCursor()), 10);
+
+        assertEquals(List.of(1, 2), episodes(first));
+        assertEquals(List.of(3, 4, 5), episodes(second));
+    }
+
+    @Test
+    @DisplayName("Deve paginar apenas os filmes que atendem ao filtro")
+    void shouldPageFilteredFilms() {
+        FilmCatalogSnapshot snapshot = snapshot(film(4, "1977-05-25"), film(1, "1999-05-19"), film(6, "1983-05-25"),
+                film(2, "2002-05-16"), film(5, "1980-05-17"));
+        FilmFilter filter = FilmFilter.of(null, null, "1977..1999");
+
+        FilmPage first = snapshot.page(filter, FilmSort.RELEASE_DATE, true, null, 2);
+        FilmPage second = snapshot.page(filter, FilmSort.RELEASE_DATE, true, FilmCursor.decode(first.nextCursor()), 2);
+
+        assertEquals(List.of(1, 6), episodes(first));
+        assertEquals(List.of(5, 4), episodes(second));
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar filmes alterados e incluídos com o mesmo resultado de reordenar o catálogo")
+    void shouldMergeChangedFilmsLikeFullSort() {
+        Random random = new Random(11);
+        List<Film> catalog = new ArrayList<>();
+        for (int i = 1; i <= 300; i++) {
+            catalog.add(film(i, random.nextInt(10) == 0 ? null : LocalDate.of(1970, 1, 1)
+                    .plusDays(random.nextInt(20_000)).toString()));
+        }
+        FilmCatalogSnapshot snapshot = new FilmCatalogSnapshot("a1", 1, 0, catalog);
+
+        for (int round = 0; round < 20; round++) {
+            List<Film> changed = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(10); i++) {
+                int episodeId = 1 + random.nextInt(catalog.size() + 2);
+                Film film = film(episodeId, LocalDate.of(1970, 1, 1).plusDays(random.nextInt(20_000)).toString());
+                film.setLastModified(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(random.nextInt(1_000)));
+                changed.add(film);
+                if (episodeId > catalog.size()) {
+                    catalog.add(film);
+                } else {
+                    catalog.set(episodeId - 1, film);
+                }
+            }
+            snapshot = snapshot.with(round + 2, 0, changed);
+            FilmCatalogSnapshot rebuilt = new FilmCatalogSnapshot("a1", round + 2, 0, catalog);
+
+            assertEquals(rebuilt.films(), snapshot.films());
+            assertEquals(rebuilt.sortedFilms(), snapshot.sortedFilms());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor de outra ordenação ou malformado")
+    void shouldRejectForeignOrMalformedCursor() {
+        FilmCatalogSnapshot snapshot = snapshot(film(1, null), film(2, null));
+        FilmCursor cursor = FilmCursor.decode(snapshot.page(FilmSort.EPISODE, false, null, 1).nextCursor());
+
+        assertThrows(InvalidQueryException.class, () -> snapshot.page(FilmSort.LAST_MODIFIED, false, cursor, 1));
+        assertThrows(InvalidQueryException.class, () -> snapshot.page(FilmSort.EPISODE, true, cursor, 1));
+        assertThrows(InvalidQueryException.class, () -> FilmCursor.decode("nao-e-um-cursor"));
+    }
+
+    private static FilmCatalogSnapshot snapshot(Film... films) {
+        return new FilmCatalogSnapshot("a1", 1, 0, List.of(films));
+    }
+
+    private static Film film(int episodeId, String releaseDate) {
+        Film film = new Film("Episode " + episodeId, episodeId, null);
+        film.setReleaseDate(releaseDate);
+        film.setLastModified(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(episodeId));
+        return film;
+    }
+
+    private static List<Integer> episodes(FilmPage page) {
+        return page.films().stream().map(Film::getEpisodeId).toList();
+    }
+}
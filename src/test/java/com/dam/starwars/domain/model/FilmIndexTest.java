@@ -0,0 +1,132 @@
+package com.dam.starwars.domain.model;
+
+import com.dam.starwars.common.exception.InvalidQueryException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Film Index Tests")
+class FilmIndexTest {
+
+    private final List<Film> films = List.of(
+            film(1, "George Lucas", "Rick McCallum", "1999-05-19"),
+            film(2, "George Lucas", "Rick McCallum", "2002-05-16"),
+            film(4, "George Lucas", "Gary Kurtz", "1977-05-25"),
+            film(5, "Irvin Kershner", "Gary Kurtz, Rick McCallum", "1980-05-17"),
+            film(6, "Richard Marquand", "Howard G. Kazanjian, George Lucas, Rick McCallum", "1983-05-25"),
+            film(7, null, null, null));
+
+    @Test
+    @DisplayName("Deve encontrar filmes por termos do diretor e do produtor sem diferenciar maiúsculas")
+    void shouldMatchDirectorAndProducerTerms() {
+        FilmIndex index = FilmIndex.EMPTY.update(films);
+
+        assertArrayEquals(new int[]{1, 2, 4}, index.match(FilmFilter.of("george LUCAS", null, null)));
+        assertArrayEquals(new int[]{5}, index.match(FilmFilter.of("Kershner", "mccallum", null)));
+        assertArrayEquals(new int[]{6}, index.match(FilmFilter.of(null, "George Lucas", null)));
+        assertArrayEquals(new int[0], index.match(FilmFilter.of("George Lucas", "Kazanjian", null)));
+    }
+
+    @Test
+    @DisplayName("Deve filtrar por ano ou intervalo de anos de lançamento")
+    void shouldMatchReleaseYearRange() {
+        FilmIndex index = FilmIndex.EMPTY.update(films);
+
+        assertArrayEquals(new int[]{4, 5, 6}, index.match(FilmFilter.of(null, null, "1977..1983")));
+        assertArrayEquals(new int[]{4}, index.match(FilmFilter.of(null, null, "1977")));
+        assertArrayEquals(new int[]{4}, index.match(FilmFilter.of("George Lucas", null, "1977..1983")));
+        assertArrayEquals(new int[0], index.match(FilmFilter.of(null, null, "1990..1998")));
+    }
+
+    @Test
+    @DisplayName("Deve reindexar apenas filmes alterados e reutilizar o índice sem mudanças")
+    void shouldUpdateIncrementally() {
+        FilmIndex index = FilmIndex.EMPTY.update(films);
+        List<Film> updated = new ArrayList<>(films);
+        updated.set(2, film(4, "Irvin Kershner", "Gary Kurtz", "1981-01-01"));
+        updated.set(5, films.get(5).withCustomDescription("Nova descrição"));
+
+        FilmIndex same = index.update(updated.subList(0, 2));
+        FilmIndex changed = index.update(updated);
+
+        assertSame(changed, changed.update(updated));
+        assertArrayEquals(new int[]{1, 2}, same.match(FilmFilter.of("George Lucas", null, null)));
+        assertArrayEquals(new int[]{1, 2}, changed.match(FilmFilter.of("George Lucas", null, null)));
+        assertArrayEquals(new int[]{4, 5}, changed.match(FilmFilter.of("Irvin Kershner", null, null)));
+        assertArrayEquals(new int[]{4, 5}, changed.match(FilmFilter.of(null, null, "1980..1981")));
+    }
+
+    @Test
+    @DisplayName("Deve reindexar só os filmes alterados recebidos, sem copiar o índice quando nada indexado mudou")
+    void shouldApplyChangedFilmsOnly() {
+        FilmIndex index = FilmIndex.EMPTY.update(films);
+
+        assertSame(index, index.with(List.of(films.get(2).withCustomDescription("Nova descrição"))));
+
+        FilmIndex changed = index.with(List.of(film(4, "Irvin Kershner", "Gary Kurtz", "1981-01-01"),
+                film(8, "Rian Johnson", "Kathleen Kennedy", "2017-12-15")));
+        assertArrayEquals(new int[]{1, 2}, changed.match(FilmFilter.of("George Lucas", null, null)));
+        assertArrayEquals(new int[]{4, 5}, changed.match(FilmFilter.of("Irvin Kershner", null, null)));
+        assertArrayEquals(new int[]{4, 5}, changed.match(FilmFilter.of(null, null, "1980..1981")));
+        assertArrayEquals(new int[]{8}, changed.match(FilmFilter.of(null, "kennedy", "2017")));
+        assertEquals(6, changed.positionOf(8));
+    }
+
+    @Test
+    @DisplayName("Deve dar o mesmo resultado de uma varredura completa")
+    void shouldMatchFullScan() {
+        Random random = new Random(7);
+        String[] directors = {"George Lucas", "Irvin Kershner", "Richard Marquand", "J. J. Abrams"};
+        List<Film> catalog = new ArrayList<>();
+        for (int i = 1; i <= 2_000; i++) {
+            catalog.add(film(i, directors[random.nextInt(directors.length)], null,
+                    LocalDate.of(1970, 1, 1).plusDays(random.nextInt(20_000)).toString()));
+        }
+        FilmIndex index = FilmIndex.EMPTY.update(catalog);
+
+        for (int i = 0; i < 200; i++) {
+            String director = directors[random.nextInt(directors.length)];
+            int from = 1970 + random.nextInt(55);
+            int to = from + random.nextInt(5);
+            int[] expected = catalog.stream()
+                    .filter(film -> film.getDirector().equals(director))
+                    .filter(film -> LocalDate.ofEpochDay(film.getReleaseEpochDay()).getYear() >= from
+                            && LocalDate.ofEpochDay(film.getReleaseEpochDay()).getYear() <= to)
+                    .mapToInt(Film::getEpisodeId)
+                    .toArray();
+
+            assertArrayEquals(expected, index.match(FilmFilter.of(director, null, from + ".." + to)),
+                    director + " " + from + ".." + to);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve separar os termos ignorando pontuação")
+    void shouldSplitTerms() {
+        assertEquals(Set.of("howard", "g", "kazanjian", "george", "lucas"),
+                FilmIndex.terms("Howard G. Kazanjian, George Lucas"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar ano inválido ou intervalo invertido")
+    void shouldRejectInvalidYear() {
+        assertThrows(InvalidQueryException.class, () -> FilmFilter.of(null, null, "setenta e sete"));
+        assertThrows(InvalidQueryException.class, () -> FilmFilter.of(null, null, "1983..1977"));
+        assertThrows(InvalidQueryException.class, () -> FilmFilter.of(null, null, "1977.."));
+    }
+
+    private static Film film(int episodeId, String director, String producer, String releaseDate) {
+        Film film = new Film("Episode " + episodeId, episodeId, null);
+        film.setDirector(director);
+        film.setProducer(producer);
+        film.setReleaseDate(releaseDate);
+        return film;
+    }
+}
@@ -0,0 +1,123 @@
+package com.dam.starwars.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Film Search Index Tests")
+class FilmSearchIndexTest {
+
+    private final List<Film> films = List.of(
+            film(4, "A New Hope", "Rebel spies managed to steal secret plans to the Empire's ultimate weapon, "
+                    + "the DEATH STAR, an armored space station with enough power to destroy an entire planet."),
+            film(5, "The Empire Strikes Back", "It is a dark time for the Rebellion. Although the Death Star "
+                    + "has been destroyed, Imperial troops have driven the Rebel forces from their hidden base."),
+            film(6, "Return of the Jedi", "The Galactic Empire has secretly begun construction on a new armored "
+                    + "space station even more powerful than the first dreaded Death Star."),
+            film(1, "The Phantom Menace", "Turmoil has engulfed the Galactic Republic."));
+
+    @Test
+    @DisplayName("Deve ordenar os filmes pela relevância BM25")
+    void shouldRankByBm25() {
+        FilmSearchIndex index = FilmSearchIndex.EMPTY.with(films);
+
+        List<FilmSearchIndex.Hit> hits = index.search("armored space station", 10);
+
+        assertEquals(List.of(6, 4), hits.stream().map(FilmSearchIndex.Hit::episodeId).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+        assertEquals(3, index.search("death star", 10).size());
+        assertEquals(List.of(1), index.search("TURMOIL", 10).stream().map(FilmSearchIndex.Hit::episodeId).toList());
+        assertTrue(index.search("jar jar", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve reindexar apenas o filme com descrição alterada")
+    void shouldReindexChangedDescription() {
+        FilmSearchIndex index = FilmSearchIndex.EMPTY.with(films);
+        Film updated = films.get(3).withCustomDescription("Clássico com a Estrela da Morte");
+
+        FilmSearchIndex changed = index.with(List.of(updated));
+
+        assertSame(changed, changed.with(List.of(updated)));
+        assertSame(index, index.with(films));
+        assertEquals(4, changed.size());
+        assertTrue(index.search("classico", 10).isEmpty());
+        assertEquals(List.of(1), changed.search("classico estrela", 10).stream()
+                .map(FilmSearchIndex.Hit::episodeId).toList());
+        assertTrue(changed.with(List.of(films.get(3))).search("classico", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve dar os mesmos scores de um cálculo BM25 direto")
+    void shouldMatchReferenceBm25() {
+        Random random = new Random(11);
+        String[] words = {"death", "star", "rebel", "empire", "jedi", "sith", "droid", "planet", "fleet", "base"};
+        List<Film> catalog = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            StringBuilder crawl = new StringBuilder();
+            for (int w = 0, size = 5 + random.nextInt(40); w < size; w++) {
+                crawl.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            catalog.add(film(i, "Episode", crawl.toString()));
+        }
+        FilmSearchIndex index = FilmSearchIndex.EMPTY.with(catalog.subList(0, 250)).with(catalog.subList(250, 500));
+
+        for (String query : List.of("death star", "jedi", "sith droid fleet")) {
+            List<FilmSearchIndex.Hit> expected = reference(catalog, query, 15);
+            List<FilmSearchIndex.Hit> actual = index.search(query, 15);
+
+            assertEquals(expected.stream().map(FilmSearchIndex.Hit::episodeId).toList(),
+                    actual.stream().map(FilmSearchIndex.Hit::episodeId).toList(), query);
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).score(), actual.get(i).score(), 1e-9);
+            }
+        }
+    }
+
+    private static List<FilmSearchIndex.Hit> reference(List<Film> catalog, String query, int limit) {
+        List<List<String>> documents = catalog.stream()
+                .map(film -> {
+                    List<String> tokens = Tokenizer.tokens(film.getTitle());
+                    tokens.addAll(Tokenizer.tokens(film.getOpeningCrawl()));
+                    return tokens;
+                })
+                .toList();
+        double averageLength = documents.stream().mapToInt(List::size).average().orElse(0);
+        List<String> terms = Tokenizer.tokens(query).stream().distinct().toList();
+
+        List<FilmSearchIndex.Hit> hits = new ArrayList<>();
+        for (int d = 0; d < documents.size(); d++) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            documents.get(d).forEach(token -> frequencies.merge(token, 1, Integer::sum));
+            double score = 0;
+            boolean matched = false;
+            for (String term : terms) {
+                long df = documents.stream().filter(document -> document.contains(term)).count();
+                int tf = frequencies.getOrDefault(term, 0);
+                if (tf > 0) {
+                    matched = true;
+                    double idf = Math.log(1 + (documents.size() - df + 0.5) / (df + 0.5));
+                    score += idf * tf * 2.2 / (tf + 1.2 * (0.25 + 0.75 * documents.get(d).size() / averageLength));
+                }
+            }
+            if (matched) {
+                hits.add(new FilmSearchIndex.Hit(catalog.get(d).getEpisodeId(), score));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(FilmSearchIndex.Hit::score).reversed()
+                .thenComparingInt(FilmSearchIndex.Hit::episodeId));
+        return hits.subList(0, Math.min(limit, hits.size()));
+    }
+
+    private static Film film(int episodeId, String title, String openingCrawl) {
+        return new Film(title, episodeId, openingCrawl);
+    }
+}
@@ -0,0 +1,95 @@
+package com.dam.starwars.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Opening Crawl Normalizer Tests")
+class OpeningCrawlNormalizerTest {
+
+    private static final int MAX_LENGTH = 200;
+    private static final char[] ALPHABET = {
+            'a', 'Z', '.', ',', '9', 'é', ' ', ' ', '\t', '\n', '\r', '\f', '\u000B',
+            '\u0000', '\u0001', '\u001F', ' ', ' ', '\uD83D', '\uDE80'
+    };
+
+    @Test
+    @DisplayName("Deve produzir o mesmo resultado da implementação com regex para textos aleatórios")
+    void shouldMatchRegexImplementationForRandomTexts() {
+        Random random = new Random(20240115L);
+        for (int i = 0; i < 20_000; i++) {
+            String text = randomText(random);
+
+            assertEquals(legacyFormat(text), OpeningCrawlNormalizer.normalize(text, MAX_LENGTH),
+                    () -> "Divergência para o texto: " + escape(text));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve produzir o mesmo resultado nos limites de truncamento")
+    void shouldMatchRegexImplementationAroundTruncationBoundary() {
+        for (int length = 190; length <= 210; length++) {
+            String plain = "x".repeat(length);
+            String spaced = " \r\n" + "ab  ".repeat(length / 4) + "\t";
+
+            assertEquals(legacyFormat(plain), OpeningCrawlNormalizer.normalize(plain, MAX_LENGTH));
+            assertEquals(legacyFormat(spaced), OpeningCrawlNormalizer.normalize(spaced, MAX_LENGTH));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve retornar null para texto nulo ou em branco")
+    void shouldReturnNullForBlankText() {
+        assertNull(OpeningCrawlNormalizer.normalize(null, MAX_LENGTH));
+        assertNull(OpeningCrawlNormalizer.normalize("", MAX_LENGTH));
+        assertNull(OpeningCrawlNormalizer.normalize(" \r\n\t\u0001", MAX_LENGTH));
+    }
+
+    @Test
+    @DisplayName("Deve retornar a mesma instância quando o texto já está normalizado")
+    void shouldReturnSameInstanceWhenAlreadyNormalized() {
+        String text = "It is a period of civil war.";
+
+        assertSame(text, OpeningCrawlNormalizer.normalize(text, MAX_LENGTH));
+    }
+
+    // implementação original do FilmMapper, usada como referência
+    private static String legacyFormat(String openingCrawl) {
+        if (openingCrawl == null || openingCrawl.trim().isEmpty()) {
+            return null;
+        }
+
+        String cleaned = openingCrawl
+                .replaceAll("\\s+", " ")
+                .trim();
+
+        if (cleaned.length() > MAX_LENGTH) {
+            return cleaned.substring(0, MAX_LENGTH - 3) + "...";
+        }
+
+        return cleaned;
+    }
+
+    private static String randomText(Random random) {
+        int length = random.nextInt(4) == 0 ? random.nextInt(10) : random.nextInt(400);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // sequências longas de um mesmo caractere exercitam o colapso de espaços
+            char c = ALPHABET[random.nextInt(ALPHABET.length)];
+            int repeat = random.nextInt(8) == 0 ? 1 + random.nextInt(5) : 1;
+            for (int r = 0; r < repeat && text.length() < length; r++) {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder();
+        text.chars().forEach(c -> escaped.append(c < ' ' || c > '~' ? String.format("\\u%04X", c) : String.valueOf((char) c)));
+        return escaped.toString();
+    }
+}
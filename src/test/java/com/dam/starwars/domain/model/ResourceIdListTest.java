@@ -0,0 +1,82 @@
+package com.dam.starwars.domain.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Resource Id List Tests")
+class ResourceIdListTest {
+
+    private static final String PEOPLE = "https://swapi.py4e.com/api/people/";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    @DisplayName("Deve compactar URLs com prefixo comum em ids e remontá-las iguais")
+    void shouldCompactUrlsWithSharedPrefix() {
+        List<String> urls = List.of(PEOPLE + "1/", PEOPLE + "13/", PEOPLE + "100/");
+
+        List<String> compact = ResourceIdList.of(new ArrayList<>(urls));
+
+        ResourceIdList ids = assertInstanceOf(ResourceIdList.class, compact);
+        assertEquals(13, ids.id(1));
+        assertEquals(urls, compact);
+        assertEquals(compact, urls);
+        assertEquals(urls.hashCode(), compact.hashCode());
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar a mesma instância de prefixo entre listas")
+    void shouldInternPrefixes() {
+        ResourceIdList first = (ResourceIdList) ResourceIdList.of(List.of(PEOPLE + "1/"));
+        ResourceIdList second = (ResourceIdList) ResourceIdList.of(List.of(new String(PEOPLE + "2/")));
+
+        assertSame(first.prefix(), second.prefix());
+    }
+
+    @Test
+    @DisplayName("Deve manter a lista original quando alguma URL foge do formato")
+    void shouldKeepOriginalListForIrregularUrls() {
+        List<List<String>> irregular = List.of(
+                List.of(PEOPLE + "1/", "https://swapi.py4e.com/api/planets/1/"),
+                List.of(PEOPLE + "1"),
+                List.of(PEOPLE + "01/"),
+                List.of(PEOPLE + "abc/"),
+                List.of(PEOPLE + "12345678901/"),
+                List.of("1/"),
+                Arrays.asList(PEOPLE + "1/", null));
+
+        for (List<String> urls : irregular) {
+            assertSame(urls, ResourceIdList.of(urls));
+        }
+        assertNull(ResourceIdList.of(null));
+    }
+
+    @Test
+    @DisplayName("Deve serializar em JSON exatamente como a lista de Strings")
+    void shouldSerializeLikePlainList() throws Exception {
+        List<String> urls = List.of(PEOPLE + "1/", PEOPLE + "9/", PEOPLE + "10/", PEOPLE + "999999999/");
+
+        assertEquals(objectMapper.writeValueAsString(urls),
+                objectMapper.writeValueAsString(ResourceIdList.of(urls)));
+    }
+
+    @Test
+    @DisplayName("Deve guardar as listas do filme compactadas sem mudar o JSON")
+    void shouldStoreFilmListsCompacted() throws Exception {
+        List<String> characters = List.of(PEOPLE + "1/", PEOPLE + "2/");
+        Film film = new Film("A New Hope", 4, "...");
+        film.setCharacters(characters);
+
+        assertInstanceOf(ResourceIdList.class, film.getCharacters());
+        assertTrue(objectMapper.writeValueAsString(film)
+                .contains("\"characters\":" + objectMapper.writeValueAsString(characters)));
+    }
+}
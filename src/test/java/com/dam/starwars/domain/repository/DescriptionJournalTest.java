@@ -0,0 +1,297 @@
+package com.dam.starwars.domain.repository;
+
+import com.dam.starwars.domain.model.DescriptionChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Description Journal Tests")
+class DescriptionJournalTest {
+
+    private static final LocalDateTime MODIFIED_AT = LocalDateTime.of(2025, 6, 16, 3, 8, 59, 367_000_000);
+
+    @TempDir
+    Path tempDir;
+
+    private final List<DescriptionJournal> journals = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (DescriptionJournal journal : journals) {
+            journal.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve reproduzir exatamente as entradas gravadas")
+    void shouldReplayAppendedChanges() {
+        Path path = tempDir.resolve("descriptions.journal");
+        DescriptionJournal journal = open(path);
+
+        journal.append(new DescriptionChange(4, 2, "Primeira", MODIFIED_AT)).join();
+        journal.append(new DescriptionChange(4, 3, "Segunda com acentuação", MODIFIED_AT.plusSeconds(1))).join();
+
+        List<DescriptionChange> replayed = open(path).replay();
+
+        assertEquals(List.of(
+                new DescriptionChange(4, 2, "Primeira", MODIFIED_AT),
+                new DescriptionChange(4, 3, "Segunda com acentuação", MODIFIED_AT.plusSeconds(1))), replayed);
+    }
+
+    @Test
+    @DisplayName("Deve confirmar rajadas de gravações concorrentes")
+    void shouldCommitConcurrentAppends() {
+        Path path = tempDir.resolve("descriptions.journal");
+        DescriptionJournal journal = open(path);
+
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int version = i + 2;
+            writes.add(CompletableFuture.supplyAsync(() -> journal.append(
+                    new DescriptionChange(4, version, "Descrição " + version, MODIFIED_AT))).thenCompose(f -> f));
+        }
+        CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(200, open(path).replay().size());
+    }
+
+    @Test
+    @DisplayName("Deve descartar uma entrada incompleta no fim do arquivo")
+    void shouldTruncateTornTail() throws Exception {
+        Path path = tempDir.resolve("descriptions.journal");
+        DescriptionJournal journal = open(path);
+        journal.append(new DescriptionChange(4, 2, "Íntegra", MODIFIED_AT)).join();
+        Path segment = tempDir.resolve("descriptions.journal.1");
+        long validSize = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        List<DescriptionChange> replayed = open(path).replay();
+
+        assertEquals(1, replayed.size());
+        assertEquals(validSize, Files.size(segment));
+    }
+
+    @Test
+    @DisplayName("Deve apagar só os segmentos cobertos pelo snapshot na compactação")
+    void shouldDeleteSegmentsCoveredBySnapshot() {
+        Path path = tempDir.resolve("descriptions.journal");
+        DescriptionJournal journal = open(path, 1);
+        journal.append(new DescriptionChange(4, 2, "Antiga", MODIFIED_AT)).join();
+        long covered = journal.rotate().join();
+        journal.append(new DescriptionChange(4, 3, "Recente", MODIFIED_AT)).join();
+        assertTrue(journal.needsCompaction());
+
+        journal.deleteSegmentsBefore(covered).join();
+        journal.append(new DescriptionChange(5, 2, "Depois da compactação", MODIFIED_AT)).join();
+
+        assertFalse(Files.exists(tempDir.resolve("descriptions.journal.1")));
+        List<DescriptionChange> replayed = open(path).replay();
+        assertEquals(List.of("Recente", "Depois da compactação"),
+                replayed.stream().map(DescriptionChange::description).toList());
+    }
+
+    @Test
+    @DisplayName("Deve manter o segmento vazio na rotação e continuar no último segmento após reiniciar")
+    void shouldKeepEmptySegmentAndResumeInLatestSegment() {
+        Path path = tempDir.resolve("descriptions.journal");
+        DescriptionJournal journal = open(path);
+        journal.append(new DescriptionChange(4, 2, "Primeira", MODIFIED_AT)).join();
+        long generation = journal.rotate().join();
+        assertEquals(generation, journal.rotate().join());
+
+        DescriptionJournal restarted = open(path);
+        assertEquals(1, restarted.replay().size());
+        restarted.append(new DescriptionChange(4, 3, "Após reiniciar", MODIFIED_AT)).join();
+        restarted.deleteSegmentsBefore(generation).join();
+
+        assertEquals(List.of("Após reiniciar"),
+                open(path).replay().stream().map(DescriptionChange::description).toList());
+        assertFalse(restarted.needsCompaction());
+    }
+
+    @Test
+    @DisplayName("Deve desfazer a gravação parcial de um lote que falhou")
+    void shouldDiscardPartialWriteOfFailedBatch() {
+        Path path = tempDir.resolve("descriptions.journal");
+        FaultyJournal journal = new FaultyJournal(path);
+        journals.add(journal);
+        journal.append(new DescriptionChange(4, 2, "Confirmada", MODIFIED_AT)).join();
+
+        journal.failForce = true;
+        assertThrows(CompletionException.class,
+                () -> journal.append(new DescriptionChange(4, 3, "Falhou", MODIFIED_AT)).join());
+        journal.append(new DescriptionChange(4, 4, "Depois da falha", MODIFIED_AT)).join();
+
+        assertEquals(List.of("Confirmada", "Depois da falha"),
+                open(path).replay().stream().map(DescriptionChange::description).toList());
+    }
+
+    @Test
+    @DisplayName("Deve recusar novas gravações quando não consegue desfazer a gravação parcial")
+    void shouldRejectAppendsWhenPartialWriteCannotBeDiscarded() {
+        Path path = tempDir.resolve("descriptions.journal");
+        FaultyJournal journal = new FaultyJournal(path);
+        journals.add(journal);
+        journal.append(new DescriptionChange(4, 2, "Confirmada", MODIFIED_AT)).join();
+
+        journal.failForce = true;
+        journal.failTruncate = true;
+        assertThrows(CompletionException.class,
+                () -> journal.append(new DescriptionChange(4, 3, "Falhou", MODIFIED_AT)).join());
+
+        assertThrows(CompletionException.class,
+                () -> journal.append(new DescriptionChange(4, 4, "Recusada", MODIFIED_AT)).join());
+        assertThrows(CompletionException.class, () -> journal.rotate().join());
+    }
+
+    private DescriptionJournal open(Path path) {
+        return open(path, 1_048_576);
+    }
+
+    private DescriptionJournal open(Path path, long compactionThreshold) {
+        DescriptionJournal journal = new DescriptionJournal(path, true, compactionThreshold);
+        journals.add(journal);
+        return journal;
+    }
+
+    /**
+     * Journal cujo segmento pode falhar uma vez no fsync, depois de os bytes já estarem no
+     * arquivo, e também no truncate que desfaz a gravação.
+     */
+    private static final class FaultyJournal extends DescriptionJournal {
+
+        private volatile boolean failForce;
+        private volatile boolean failTruncate;
+
+        private FaultyJournal(Path path) {
+            super(path, true, 1_048_576);
+        }
+
+        @Override
+        FileChannel openSegment(Path segment) throws IOException {
+            return new FaultyChannel(super.openSegment(segment));
+        }
+
+        private final class FaultyChannel extends FileChannel {
+
+            private final FileChannel delegate;
+
+            private FaultyChannel(FileChannel delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void force(boolean metaData) throws IOException {
+                if (failForce) {
+                    failForce = false;
+                    throw new IOException("fsync falhou");
+                }
+                delegate.force(metaData);
+            }
+
+            @Override
+            public FileChannel truncate(long size) throws IOException {
+                if (failTruncate) {
+                    throw new IOException("truncate falhou");
+                }
+                delegate.truncate(size);
+                return this;
+            }
+
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                return delegate.read(dst);
+            }
+
+            @Override
+            public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+                return delegate.read(dsts, offset, length);
+            }
+
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                return delegate.write(src);
+            }
+
+            @Override
+            public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+                return delegate.write(srcs, offset, length);
+            }
+
+            @Override
+            public long position() throws IOException {
+                return delegate.position();
+            }
+
+            @Override
+            public FileChannel position(long newPosition) throws IOException {
+                delegate.position(newPosition);
+                return this;
+            }
+
+            @Override
+            public long size() throws IOException {
+                return delegate.size();
+            }
+
+            @Override
+            public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+                return delegate.transferTo(position, count, target);
+            }
+
+            @Override
+            public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+                return delegate.transferFrom(src, position, count);
+            }
+
+            @Override
+            public int read(ByteBuffer dst, long position) throws IOException {
+                return delegate.read(dst, position);
+            }
+
+            @Override
+            public int write(ByteBuffer src, long position) throws IOException {
+                return delegate.write(src, position);
+            }
+
+            @Override
+            public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+                return delegate.map(mode, position, size);
+            }
+
+            @Override
+            public FileLock lock(long position, long size, boolean shared) throws IOException {
+                return delegate.lock(position, size, shared);
+            }
+
+            @Override
+            public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+                return delegate.tryLock(position, size, shared);
+            }
+
+            @Override
+            protected void implCloseChannel() throws IOException {
+                delegate.close();
+            }
+        }
+    }
+}
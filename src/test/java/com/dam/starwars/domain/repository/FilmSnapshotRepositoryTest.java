@@ -0,0 +1,92 @@
+package com.dam.starwars.domain.repository;
+
+import com.dam.starwars.domain.model.Film;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Film Snapshot Repository Tests")
+class FilmSnapshotRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Deve gravar e recarregar todos os campos do filme")
+    void shouldRoundTripAllFilmFields() throws Exception {
+        FilmSnapshotRepository repository = new FilmSnapshotRepository(tempDir.resolve("films.snapshot"), true);
+        Film film = createSampleFilm();
+
+        repository.save(List.of(film, new Film("The Empire Strikes Back", 5, null)));
+        List<Film> loaded = repository.load();
+
+        assertEquals(2, loaded.size());
+        Film restored = loaded.get(0);
+        assertEquals(film.getTitle(), restored.getTitle());
+        assertEquals(film.getEpisodeId(), restored.getEpisodeId());
+        assertEquals(film.getOpeningCrawl(), restored.getOpeningCrawl());
+        assertEquals(film.getDirector(), restored.getDirector());
+        assertEquals(film.getProducer(), restored.getProducer());
+        assertEquals(film.getReleaseDate(), restored.getReleaseDate());
+        assertEquals(film.getCharacters(), restored.getCharacters());
+        assertEquals(film.getPlanets(), restored.getPlanets());
+        assertNull(restored.getStarships());
+        assertEquals(film.getVehicles(), restored.getVehicles());
+        assertEquals(film.getSpecies(), restored.getSpecies());
+        assertEquals(film.getCreated(), restored.getCreated());
+        assertEquals(film.getEdited(), restored.getEdited());
+        assertEquals(film.getUrl(), restored.getUrl());
+        assertEquals(3, restored.getVersion());
+        assertEquals(2, restored.getRevision());
+        assertEquals("Descrição local", restored.getCustomDescription());
+        assertEquals(film.getLastModified(), restored.getLastModified());
+        assertNull(loaded.get(1).getOpeningCrawl());
+        assertFalse(Files.exists(tempDir.resolve("films.snapshot.tmp")));
+    }
+
+    @Test
+    @DisplayName("Deve retornar lista vazia quando não houver snapshot")
+    void shouldReturnEmptyListWhenSnapshotIsMissing() {
+        FilmSnapshotRepository repository = new FilmSnapshotRepository(tempDir.resolve("missing.snapshot"), true);
+
+        assertTrue(repository.load().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar snapshot corrompido")
+    void shouldIgnoreCorruptedSnapshot() throws Exception {
+        Path path = tempDir.resolve("films.snapshot");
+        FilmSnapshotRepository repository = new FilmSnapshotRepository(path, true);
+        repository.save(List.of(createSampleFilm()));
+
+        byte[] content = Files.readAllBytes(path);
+        content[content.length / 2] ^= 0x5A;
+        Files.write(path, content);
+
+        assertTrue(repository.load().isEmpty());
+    }
+
+    private Film createSampleFilm() {
+        Film film = new Film("A New Hope", 4, "It is a period of civil war...");
+        film.setDirector("George Lucas");
+        film.setProducer("Gary Kurtz, Rick McCallum");
+        film.setReleaseDate("1977-05-25");
+        film.setCharacters(List.of("https://swapi.py4e.com/api/people/1/", "https://swapi.py4e.com/api/people/2/"));
+        film.setPlanets(List.of("https://swapi.py4e.com/api/planets/1/"));
+        film.setVehicles(List.of());
+        film.setSpecies(List.of("https://swapi.py4e.com/api/species/1/"));
+        film.setCreated(LocalDateTime.of(2014, 12, 10, 14, 23, 31, 880_000_000));
+        film.setEdited(LocalDateTime.of(2014, 12, 20, 19, 49, 45, 256_000_000));
+        film.setUrl("https://swapi.py4e.com/api/films/1/");
+        film.restoreLocalState(3, "Descrição local", LocalDateTime.of(2025, 6, 16, 3, 8, 59));
+        film.setRevision(2);
+        return film;
+    }
+}
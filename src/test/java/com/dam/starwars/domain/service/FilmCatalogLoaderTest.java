@@ -0,0 +1,111 @@
+package com.dam.starwars.domain.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Film Catalog Loader Tests")
+@ExtendWith(MockitoExtension.class)
+class FilmCatalogLoaderTest {
+
+    @Mock
+    private FilmService filmService;
+
+    private FilmCatalogLoader filmCatalogLoader;
+
+    @BeforeEach
+    void setUp() {
+        filmCatalogLoader = new FilmCatalogLoader(filmService, Duration.ofMillis(10), Duration.ofMillis(50), Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        filmCatalogLoader.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve carregar o catálogo em segundo plano sem bloquear a inicialização")
+    void shouldLoadCatalogInBackground() throws Exception {
+        when(filmService.loadFilmsIntoMemory()).thenReturn(6);
+
+        filmCatalogLoader.loadInBackground();
+
+        awaitLoaded();
+        verify(filmService, times(1)).loadFilmsIntoMemory();
+    }
+
+    @Test
+    @DisplayName("Deve tentar novamente até a SWAPI responder")
+    void shouldRetryUntilCatalogIsPopulated() throws Exception {
+        when(filmService.loadFilmsIntoMemory())
+                .thenThrow(new IllegalStateException("SWAPI fora do ar"))
+                .thenReturn(0)
+                .thenReturn(6);
+
+        filmCatalogLoader.loadInBackground();
+
+        awaitLoaded();
+        verify(filmService, times(3)).loadFilmsIntoMemory();
+    }
+
+    @Test
+    @DisplayName("Não deve ficar pronto enquanto o catálogo estiver vazio")
+    void shouldNotBeReadyWhileCatalogIsEmpty() throws Exception {
+        when(filmService.loadFilmsIntoMemory()).thenReturn(0);
+
+        filmCatalogLoader.loadInBackground();
+        Thread.sleep(100);
+
+        assertFalse(filmCatalogLoader.isCatalogLoaded());
+        verify(filmService, atLeast(2)).loadFilmsIntoMemory();
+    }
+
+    @Test
+    @DisplayName("Deve ficar pronto imediatamente ao restaurar o snapshot local e reconciliar depois")
+    void shouldBeReadyImmediatelyWhenSnapshotIsRestored() throws Exception {
+        when(filmService.restoreFromSnapshot()).thenReturn(6);
+        when(filmService.loadFilmsIntoMemory()).thenReturn(0, 6);
+
+        filmCatalogLoader.loadInBackground();
+
+        assertTrue(filmCatalogLoader.isCatalogLoaded());
+        verify(filmService, timeout(5_000).times(2)).loadFilmsIntoMemory();
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o catálogo periodicamente depois da carga, mesmo com falhas")
+    void shouldRefreshPeriodicallyAfterLoad() {
+        FilmCatalogLoader refreshingLoader = new FilmCatalogLoader(filmService, Duration.ofMillis(10),
+                Duration.ofMillis(50), Duration.ofMillis(20));
+        when(filmService.loadFilmsIntoMemory()).thenReturn(6);
+        when(filmService.refreshFilms())
+                .thenThrow(new IllegalStateException("SWAPI fora do ar"))
+                .thenReturn(1, 0);
+
+        try {
+            refreshingLoader.loadInBackground();
+
+            verify(filmService, timeout(5_000).atLeast(3)).refreshFilms();
+            verify(filmService, times(1)).loadFilmsIntoMemory();
+        } finally {
+            refreshingLoader.shutdown();
+        }
+    }
+
+    private void awaitLoaded() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!filmCatalogLoader.isCatalogLoaded() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(filmCatalogLoader.isCatalogLoaded());
+    }
+}
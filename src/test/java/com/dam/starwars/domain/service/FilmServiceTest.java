@@ -2,19 +2,53 @@ package com.dam.starwars.domain.service;
 
 import com.dam.starwars.api.client.SwapiClient;
 import com.dam.starwars.common.exception.FilmNotFoundException;
+import com.dam.starwars.common.exception.SwapiIntegrationException;
+import com.dam.starwars.common.exception.VersionConflictException;
 import com.dam.starwars.domain.model.Film;
+import com.dam.starwars.domain.model.FilmCatalogSnapshot;
+import com.dam.starwars.domain.model.FilmChangeEvent;
+import com.dam.starwars.domain.model.FilmSearchHit;
+import com.dam.starwars.domain.model.CatalogFreshness;
+import com.dam.starwars.domain.model.DescriptionChange;
+import com.dam.starwars.domain.model.DescriptionUpdate;
+import com.dam.starwars.domain.model.DescriptionUpdateResult;
+import com.dam.starwars.domain.repository.DescriptionJournal;
+import com.dam.starwars.domain.repository.FilmSnapshotRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @DisplayName("Film Service Tests")
@@ -24,6 +58,15 @@ class FilmServiceTest {
     @Mock
     private SwapiClient swapiClient;
 
+    @Mock
+    private FilmSnapshotRepository snapshotRepository;
+
+    @Mock
+    private DescriptionJournal descriptionJournal;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private FilmService filmService;
 
@@ -31,6 +74,8 @@ class FilmServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(descriptionJournal.append(any())).thenReturn(CompletableFuture.completedFuture(null));
+
         Film firstFilm = new Film("A New Hope", 4, "It is a period of civil war...");
         Film secondFilm = new Film("The Empire Strikes Back", 5, "It is a dark time for the Rebellion...");
 
@@ -50,6 +95,18 @@ class FilmServiceTest {
         assertTrue(filmService.filmExists(5));
     }
 
+    @Test
+    @DisplayName("Deve concluir a carga sem esperar o aquecimento dos recursos vinculados")
+    void shouldNotWaitForLinkedResourcePrefetch() {
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        when(swapiClient.prefetchLinkedResources(mockFilms)).thenReturn(new CompletableFuture<>());
+
+        assertEquals(2, filmService.loadFilmsIntoMemory());
+
+        assertEquals(2, filmService.getCatalogSnapshot().films().size());
+        verify(swapiClient).prefetchLinkedResources(mockFilms);
+    }
+
     @Test
     @DisplayName("Deve retornar todos os filmes")
     void shouldReturnAllFilms() {
@@ -62,6 +119,17 @@ class FilmServiceTest {
         assertEquals("A New Hope", result.get(0).getTitle());
     }
 
+    @Test
+    @DisplayName("Deve percorrer os filmes na ordem de episódio")
+    void shouldStreamFilmsInEpisodeOrder() {
+        when(swapiClient.fetchAllFilms()).thenReturn(List.of(mockFilms.get(1), mockFilms.get(0)));
+        filmService.loadFilmsIntoMemory();
+
+        List<Integer> episodes = filmService.streamFilms().map(Film::getEpisodeId).toList();
+
+        assertEquals(List.of(4, 5), episodes);
+    }
+
     @Test
     @DisplayName("Deve retornar filme por ID de episódio")
     void shouldReturnFilmByEpisodeId() {
@@ -125,4 +193,363 @@ class FilmServiceTest {
 
         assertEquals(2, total);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve publicar um novo snapshot do catálogo a cada mutação")
+    void shouldPublishNewSnapshotOnEachMutation() {
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.loadFilmsIntoMemory();
+
+        FilmCatalogSnapshot loaded = filmService.getCatalogSnapshot();
+        assertSame(loaded, filmService.getCatalogSnapshot());
+        assertEquals(2, loaded.films().size());
+
+        filmService.updateFilmDescription(4, "Nova descrição");
+        FilmCatalogSnapshot updated = filmService.getCatalogSnapshot();
+
+        assertNotSame(loaded, updated);
+        assertTrue(updated.version() > loaded.version());
+        assertSame(filmService.getFilmByEpisode(4), updated.films().get(0));
+        assertEquals("Nova descrição", updated.films().get(0).getCustomDescription());
+    }
+
+    @Test
+    @DisplayName("Deve gerar ETags de catálogo diferentes a cada inicialização, mesmo com a mesma versão")
+    void shouldNotReuseCatalogETagAcrossRestarts() {
+        FilmService restarted = new FilmService(swapiClient, snapshotRepository, descriptionJournal, eventPublisher);
+
+        assertEquals(filmService.getCatalogSnapshot().version(), restarted.getCatalogSnapshot().version());
+        assertNotEquals(filmService.getCatalogSnapshot().eTag(), restarted.getCatalogSnapshot().eTag());
+        assertNotEquals(filmService.getCatalogSnapshot().eTag("f1"), restarted.getCatalogSnapshot().eTag("f1"));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar na atualização só os filmes com edited alterado, mantendo a descrição local")
+    void shouldRefreshOnlyFilmsEditedUpstream() {
+        mockFilms.forEach(film -> film.setEdited(LocalDateTime.of(2014, 12, 20, 19, 49)));
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.loadFilmsIntoMemory();
+        filmService.updateFilmDescription(4, "Descrição local");
+        Film unchangedEmpire = filmService.getFilmByEpisode(5);
+
+        Film editedHope = new Film("A New Hope (Special Edition)", 4, "It is a period of civil war...");
+        editedHope.setEdited(LocalDateTime.of(2015, 4, 11, 9, 48));
+        Film sameEmpire = new Film("The Empire Strikes Back", 5, "It is a dark time for the Rebellion...");
+        sameEmpire.setEdited(LocalDateTime.of(2014, 12, 20, 19, 49));
+        when(swapiClient.fetchChangedFilms()).thenReturn(List.of(editedHope, sameEmpire), List.of());
+
+        assertEquals(1, filmService.refreshFilms());
+        assertEquals(0, filmService.refreshFilms());
+
+        Film refreshed = filmService.getFilmByEpisode(4);
+        assertEquals("A New Hope (Special Edition)", refreshed.getTitle());
+        assertEquals("Descrição local", refreshed.getCustomDescription());
+        assertEquals(2, refreshed.getVersion());
+        assertSame(unchangedEmpire, filmService.getFilmByEpisode(5));
+        assertEquals("A New Hope (Special Edition)", filmService.getCatalogSnapshot().films().stream()
+                .filter(film -> film.getEpisodeId() == 4).findFirst().orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("Deve avançar a revisão, o ETag e o lastModified quando o conteúdo muda na SWAPI")
+    void shouldReviseFilmWhenUpstreamContentChanges() {
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.loadFilmsIntoMemory();
+        Film before = filmService.getFilmByEpisode(4);
+        before.setLastModified(LocalDateTime.of(2020, 1, 1, 0, 0));
+        clearInvocations(eventPublisher);
+
+        Film editedHope = new Film("A New Hope (Special Edition)", 4, "It is a period of civil war...");
+        editedHope.setEdited(LocalDateTime.of(2015, 4, 11, 9, 48));
+        when(swapiClient.fetchChangedFilms()).thenReturn(List.of(editedHope));
+        filmService.refreshFilms();
+
+        Film revised = filmService.getFilmByEpisode(4);
+        assertEquals(1, revised.getVersion());
+        assertEquals(1, revised.getRevision());
+        assertEquals("\"4-1-1\"", revised.getETag());
+        assertNotEquals(before.getETag(), revised.getETag());
+        assertTrue(revised.getLastModified().isAfter(before.getLastModified()));
+        verify(eventPublisher).publishEvent(new FilmChangeEvent(4, 1, 1, Set.of("title", "edited", "lastModified")));
+    }
+
+    @Test
+    @DisplayName("Deve continuar servindo o último catálogo, marcado como velho, quando a SWAPI falhar")
+    void shouldServeStaleCatalogWhenSwapiFails() {
+        when(swapiClient.fetchAllFilms())
+                .thenReturn(mockFilms)
+                .thenThrow(new SwapiIntegrationException("SWAPI respondeu 503"));
+
+        assertTrue(filmService.getCatalogFreshness().stale());
+        filmService.loadFilmsIntoMemory();
+        CatalogFreshness synced = filmService.getCatalogFreshness();
+        assertFalse(synced.stale());
+        assertNotNull(synced.lastSyncedAt());
+
+        assertThrows(SwapiIntegrationException.class, () -> filmService.loadFilmsIntoMemory());
+
+        assertTrue(filmService.getCatalogFreshness().stale());
+        assertEquals(synced.lastSyncedAt(), filmService.getCatalogFreshness().lastSyncedAt());
+        assertEquals(2, filmService.getCatalogSnapshot().films().size());
+    }
+
+    @Test
+    @DisplayName("Deve preservar descrições locais ao reconciliar o snapshot com a SWAPI")
+    void shouldKeepLocalEditsWhenReconcilingSnapshotWithSwapi() {
+        Film restored = new Film("A New Hope", 4, "It is a period of civil war...");
+        restored.restoreLocalState(3, "Descrição salva", restored.getLastModified());
+        when(snapshotRepository.load()).thenReturn(List.of(restored));
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+
+        assertEquals(1, filmService.restoreFromSnapshot());
+        assertEquals(2, filmService.loadFilmsIntoMemory());
+
+        Film result = filmService.getFilmByEpisode(4);
+        assertEquals("Descrição salva", result.getCustomDescription());
+        assertEquals(3, result.getVersion());
+        verify(snapshotRepository).scheduleSave(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve registrar cada atualização de descrição no journal")
+    void shouldAppendDescriptionChangeToJournal() {
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.loadFilmsIntoMemory();
+
+        Film result = filmService.updateFilmDescription(4, "Nova descrição");
+
+        verify(descriptionJournal).append(new DescriptionChange(4, 2, "Nova descrição", result.getLastModified()));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar só quando o ETag atual do filme está entre os do If-Match")
+    void shouldUpdateOnlyWhenCurrentETagMatches() {
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.loadFilmsIntoMemory();
+
+        assertThrows(VersionConflictException.class,
+                () -> filmService.updateFilmDescriptionIfMatch(4, "Outro episódio", List.of("\"5-1-0\"")));
+        assertThrows(VersionConflictException.class,
+                () -> filmService.updateFilmDescriptionIfMatch(4, "Nenhuma tag", List.of()));
+        Film updated = filmService.updateFilmDescriptionIfMatch(4, "Nova descrição", List.of("\"5-1-0\"", "\"4-1-0\""));
+
+        assertEquals(2, updated.getVersion());
+        assertThrows(VersionConflictException.class,
+                () -> filmService.updateFilmDescriptionIfMatch(4, "Desatualizada", List.of("\"4-1-0\"")));
+        assertEquals("Nova descrição", filmService.getFilmByEpisode(4).getCustomDescription());
+    }
+
+    @Test
+    @DisplayName("Deve trocar o filme em memória só depois que o journal confirmar a gravação")
+    void shouldApplyDescriptionOnlyAfterJournalIsDurable() throws Exception {
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.loadFilmsIntoMemory();
+        FilmCatalogSnapshot before = filmService.getCatalogSnapshot();
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        when(descriptionJournal.append(any())).thenReturn(durable);
+
+        CompletableFuture<Film> update = CompletableFuture.supplyAsync(
+                () -> filmService.updateFilmDescription(4, "Nova descrição"));
+        verify(descriptionJournal, timeout(5_000)).append(any());
+
+        assertNull(filmService.getFilmByEpisode(4).getCustomDescription());
+        assertSame(before, filmService.getCatalogSnapshot());
+
+        durable.complete(null);
+        assertEquals("Nova descrição", update.get(5, TimeUnit.SECONDS).getCustomDescription());
+        assertEquals("Nova descrição", filmService.getFilmByEpisode(4).getCustomDescription());
+        assertNotSame(before, filmService.getCatalogSnapshot());
+    }
+
+    @Test
+    @DisplayName("Deve manter o filme inalterado quando a gravação no journal falha")
+    void shouldNotApplyDescriptionWhenJournalFails() {
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.loadFilmsIntoMemory();
+        FilmCatalogSnapshot before = filmService.getCatalogSnapshot();
+        clearInvocations(eventPublisher);
+        when(descriptionJournal.append(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("disco cheio")));
+
+        assertThrows(CompletionException.class, () -> filmService.updateFilmDescription(4, "Nova descrição"));
+        assertThrows(CompletionException.class, () -> filmService.updateFilmDescriptions(List.of(
+                new DescriptionUpdate(4, "Em lote", null), new DescriptionUpdate(5, "Em lote", null))));
+
+        assertNull(filmService.getFilmByEpisode(4).getCustomDescription());
+        assertEquals(1, filmService.getFilmByEpisode(4).getVersion());
+        assertNull(filmService.getFilmByEpisode(5).getCustomDescription());
+        assertSame(before, filmService.getCatalogSnapshot());
+        verify(eventPublisher, never()).publishEvent(any(FilmChangeEvent.class));
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir versão e descrição a partir do journal")
+    void shouldReplayJournalOnRestore() {
+        LocalDateTime modifiedAt = LocalDateTime.of(2025, 6, 16, 3, 8, 59);
+        when(snapshotRepository.load()).thenReturn(List.of(new Film("A New Hope", 4, "It is a period of civil war...")));
+        when(descriptionJournal.replay()).thenReturn(List.of(
+                new DescriptionChange(4, 2, "Primeira", modifiedAt),
+                new DescriptionChange(4, 3, "Segunda", modifiedAt.plusMinutes(1)),
+                new DescriptionChange(5, 2, "Pendente", modifiedAt)));
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+
+        filmService.restoreFromSnapshot();
+        Film restored = filmService.getFilmByEpisode(4);
+        assertEquals(3, restored.getVersion());
+        assertEquals("Segunda", restored.getCustomDescription());
+        assertEquals(modifiedAt.plusMinutes(1), restored.getLastModified());
+
+        filmService.loadFilmsIntoMemory();
+        Film reconciled = filmService.getFilmByEpisode(5);
+        assertEquals(2, reconciled.getVersion());
+        assertEquals("Pendente", reconciled.getCustomDescription());
+    }
+
+    @Test
+    @DisplayName("Deve regravar no segmento novo as alterações de filmes ainda não recebidos da SWAPI")
+    @SuppressWarnings("unchecked")
+    void shouldCarryPendingReplayIntoNewSegmentOnCompaction() {
+        DescriptionChange pending = new DescriptionChange(9, 2, "Ainda sem filme", LocalDateTime.of(2025, 6, 16, 3, 8));
+        when(snapshotRepository.load()).thenReturn(List.of(new Film("A New Hope", 4, "It is a period of civil war...")));
+        when(descriptionJournal.replay()).thenReturn(List.of(pending));
+        when(descriptionJournal.rotate()).thenReturn(CompletableFuture.completedFuture(2L));
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.restoreFromSnapshot();
+        filmService.loadFilmsIntoMemory();
+
+        ArgumentCaptor<Supplier<Collection<Film>>> capture = ArgumentCaptor.forClass(Supplier.class);
+        ArgumentCaptor<Runnable> afterSave = ArgumentCaptor.forClass(Runnable.class);
+        verify(snapshotRepository).scheduleSave(capture.capture(), afterSave.capture());
+        assertEquals(2, capture.getValue().get().size());
+        afterSave.getValue().run();
+
+        InOrder order = inOrder(descriptionJournal);
+        order.verify(descriptionJournal).rotate();
+        order.verify(descriptionJournal).append(pending);
+        order.verify(descriptionJournal).deleteSegmentsBefore(2L);
+    }
+
+    @Test
+    @DisplayName("Deve recusar o journal ligado sem snapshot, que nunca seria compactado")
+    void shouldRejectJournalWithoutSnapshot() {
+        when(descriptionJournal.isEnabled()).thenReturn(true);
+
+        assertThrows(IllegalStateException.class,
+                () -> new FilmService(swapiClient, snapshotRepository, descriptionJournal, eventPublisher));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar a atualização quando a versão esperada não é a atual")
+    void shouldRejectUpdateWhenExpectedVersionDoesNotMatch() {
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.loadFilmsIntoMemory();
+        filmService.updateFilmDescription(4, "Primeira", 1);
+
+        assertThrows(VersionConflictException.class, () -> filmService.updateFilmDescription(4, "Segunda", 1));
+        assertEquals("Primeira", filmService.getFilmByEpisode(4).getCustomDescription());
+    }
+
+    @Test
+    @DisplayName("Não deve alterar o filme já publicado ao atualizar a descrição")
+    void shouldNotMutatePublishedFilm() {
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.loadFilmsIntoMemory();
+        Film before = filmService.getFilmByEpisode(4);
+
+        Film after = filmService.updateFilmDescription(4, "Nova descrição");
+
+        assertNotSame(before, after);
+        assertEquals(1, before.getVersion());
+        assertNull(before.getCustomDescription());
+        assertEquals(2, after.getVersion());
+    }
+
+    @Test
+    @DisplayName("Deve gerar exatamente N incrementos de versão com N atualizações concorrentes")
+    void shouldIncrementVersionExactlyOncePerConcurrentUpdate() throws Exception {
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.loadFilmsIntoMemory();
+        int threads = 8;
+        int updatesPerThread = 250;
+        Set<Integer> versions = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < updatesPerThread; i++) {
+                        Film updated = filmService.updateFilmDescription(4, "Thread " + thread + " #" + i);
+                        versions.add(updated.getVersion());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        int total = threads * updatesPerThread;
+        assertEquals(1 + total, filmService.getFilmByEpisode(4).getVersion());
+        assertEquals(total, versions.size());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar atualizações em lote com resultado por item e uma única publicação")
+    void shouldApplyBulkUpdatesWithPerItemResults() {
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.loadFilmsIntoMemory();
+        long versionBefore = filmService.getCatalogSnapshot().version();
+
+        List<DescriptionUpdateResult> results = filmService.updateFilmDescriptions(List.of(
+                new DescriptionUpdate(4, "Nova esperança", 1),
+                new DescriptionUpdate(5, "Império", 7),
+                new DescriptionUpdate(999, "Inexistente", null),
+                new DescriptionUpdate(4, "De novo", null)));
+
+        assertEquals(List.of(DescriptionUpdateResult.Status.UPDATED, DescriptionUpdateResult.Status.CONFLICT,
+                        DescriptionUpdateResult.Status.NOT_FOUND, DescriptionUpdateResult.Status.UPDATED),
+                results.stream().map(DescriptionUpdateResult::status).toList());
+        assertEquals(3, filmService.getFilmByEpisode(4).getVersion());
+        assertEquals("De novo", filmService.getFilmByEpisode(4).getCustomDescription());
+        assertNull(filmService.getFilmByEpisode(5).getCustomDescription());
+        assertEquals(versionBefore + 1, filmService.getCatalogSnapshot().version());
+        verify(descriptionJournal, times(2)).append(any());
+    }
+
+    @Test
+    @DisplayName("Deve publicar eventos de alteração na carga e na atualização de descrição")
+    void shouldPublishChangeEvents() {
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.loadFilmsIntoMemory();
+        verify(eventPublisher, times(2)).publishEvent(any(FilmChangeEvent.class));
+
+        filmService.loadFilmsIntoMemory();
+        verify(eventPublisher, times(2)).publishEvent(any(FilmChangeEvent.class));
+
+        filmService.updateFilmDescription(4, "Nova descrição");
+        verify(eventPublisher).publishEvent(new FilmChangeEvent(4, 2, 0,
+                Set.of("customDescription", "version", "lastModified")));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar filmes pela busca textual, inclusive pela nova descrição")
+    void shouldSearchFilmsIncludingUpdatedDescription() {
+        when(swapiClient.fetchAllFilms()).thenReturn(mockFilms);
+        filmService.loadFilmsIntoMemory();
+
+        assertEquals(5, filmService.searchFilms("dark time", 10).get(0).film().getEpisodeId());
+        assertTrue(filmService.searchFilms("estrela da morte", 10).isEmpty());
+
+        filmService.updateFilmDescription(4, "A Estrela da Morte é destruída");
+
+        List<FilmSearchHit> hits = filmService.searchFilms("estrela da morte", 10);
+        assertEquals(1, hits.size());
+        assertEquals(4, hits.get(0).film().getEpisodeId());
+        assertEquals("A Estrela da Morte é destruída", hits.get(0).film().getCustomDescription());
+    }
+}
@@ -1,55 +1,60 @@
 package com.dam.starwars.domain.service;
 
 import com.dam.starwars.api.client.SwapiClient;
+import com.dam.starwars.api.client.SwapiHttpTransport;
+import com.dam.starwars.api.client.SwapiResilience;
+import com.dam.starwars.api.client.SwapiStubServer;
+import com.dam.starwars.common.exception.SwapiIntegrationException;
+import com.dam.starwars.common.exception.SwapiUnavailableException;
 import com.dam.starwars.domain.model.Film;
-import com.dam.starwars.domain.model.SwapiFilm;
+import com.dam.starwars.domain.model.SwapiResource;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
-
-import java.util.Arrays;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
 @DisplayName("Swapi Service Tests")
-@ExtendWith(MockitoExtension.class)
 class SwapiClientTest {
 
-    @Mock
-    private RestTemplate restTemplate;
+    private static final String FILMS_ENDPOINT = "/films/";
 
-    @InjectMocks
+    private SwapiStubServer stubServer;
     private SwapiClient swapiClient;
 
-    private static final String BASE_URL = "https://swapi.py4e.com/api";
-    private static final String FILMS_ENDPOINT = "/films/";
-
     @BeforeEach
-    void setUp() {
-        ReflectionTestUtils.setField(swapiClient, "swapiBaseUrl", BASE_URL);
-        ReflectionTestUtils.setField(swapiClient, "filmsEndpoint", FILMS_ENDPOINT);
+    void setUp() throws Exception {
+        stubServer = new SwapiStubServer();
+        swapiClient = new SwapiClient(transport(Duration.ofSeconds(5)), Jackson2ObjectMapperBuilder.json().build(),
+                stubServer.baseUrl(), FILMS_ENDPOINT, 2, 100, Duration.ofDays(1), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.close();
     }
 
     @Test
     @DisplayName("Deve carregar todos os filmes com sucesso")
     void shouldFetchAllFilmsSuccessfully() {
-        Film firstFilm = new Film("A New Hope", 4, "It is a period of civil war...");
-        Film secondFilm = new Film("The Empire Strikes Back", 5, "It is a dark time...");
-
-        SwapiFilm mockResponse = new SwapiFilm();
-        mockResponse.setResults(Arrays.asList(firstFilm, secondFilm));
-
-        String expectedUrl = BASE_URL + FILMS_ENDPOINT;
-        when(restTemplate.getForObject(expectedUrl, SwapiFilm.class)).thenReturn(mockResponse);
+        stubServer.respond("/api/films/", """
+                {"count": 2, "next": null, "results": [
+                  {"title": "A New Hope", "episode_id": 4, "opening_crawl": "It is a period of civil war..."},
+                  {"title": "The Empire Strikes Back", "episode_id": 5, "opening_crawl": "It is a dark time..."}
+                ]}
+                """);
 
         List<Film> result = swapiClient.fetchAllFilms();
 
@@ -57,15 +62,61 @@ class SwapiClientTest {
         assertEquals(2, result.size());
         assertEquals("A New Hope", result.get(0).getTitle());
         assertEquals("The Empire Strikes Back", result.get(1).getTitle());
+        assertEquals("It is a period of civil war...", result.get(0).getFormattedOpeningCrawl());
+        assertEquals(1, stubServer.hits("/api/films/"));
+    }
 
-        verify(restTemplate, times(1)).getForObject(expectedUrl, SwapiFilm.class);
+    @Test
+    @DisplayName("Deve seguir a paginação da SWAPI")
+    void shouldFollowPagination() {
+        stubServer.respond("/api/films/", """
+                {"count": 5, "next": "/api/films/?page=2", "results": [
+                  {"title": "A New Hope", "episode_id": 4},
+                  {"title": "The Empire Strikes Back", "episode_id": 5}
+                ]}
+                """);
+        stubServer.respond("/api/films/?page=2", """
+                {"count": 5, "next": "/api/films/?page=3", "results": [
+                  {"title": "Return of the Jedi", "episode_id": 6},
+                  {"title": "The Phantom Menace", "episode_id": 1}
+                ]}
+                """);
+        stubServer.respond("/api/films/?page=3", """
+                {"count": 5, "next": null, "results": [
+                  {"title": "Attack of the Clones", "episode_id": 2}
+                ]}
+                """);
+
+        List<Film> result = swapiClient.fetchAllFilms();
+
+        assertEquals(List.of(4, 5, 6, 1, 2), result.stream().map(Film::getEpisodeId).toList());
+        assertEquals(1, stubServer.hits("/api/films/?page=2"));
+        assertEquals(1, stubServer.hits("/api/films/?page=3"));
+    }
+
+    @Test
+    @DisplayName("Deve interpretar datas na ingestão e colocar datas inválidas em quarentena")
+    void shouldParseReleaseDatesAndQuarantineMalformedOnes() {
+        stubServer.respond("/api/films/", """
+                {"count": 2, "next": null, "results": [
+                  {"title": "A New Hope", "episode_id": 4, "release_date": "1977-05-25"},
+                  {"title": "The Empire Strikes Back", "episode_id": 5, "release_date": "25/05/1980"}
+                ]}
+                """);
+
+        List<Film> result = swapiClient.fetchAllFilms();
+
+        assertEquals(2, result.size());
+        assertEquals(LocalDate.of(1977, 5, 25).toEpochDay(), result.get(0).getReleaseEpochDay());
+        assertFalse(result.get(1).hasReleaseDate());
+        assertNull(result.get(1).getReleaseDate());
+        assertEquals(Map.of(5, "25/05/1980"), swapiClient.getQuarantinedReleaseDates());
     }
 
     @Test
     @DisplayName("Deve retornar lista vazia quando não houver filmes")
     void shouldReturnEmptyListWhenResponseIsNull() {
-        String expectedUrl = BASE_URL + FILMS_ENDPOINT;
-        when(restTemplate.getForObject(expectedUrl, SwapiFilm.class)).thenReturn(null);
+        stubServer.respond("/api/films/", "null");
 
         List<Film> result = swapiClient.fetchAllFilms();
 
@@ -76,11 +127,7 @@ class SwapiClientTest {
     @Test
     @DisplayName("Deve retornar lista vazia quando resultados forem nulos")
     void shouldReturnEmptyListWhenResultsAreNull() {
-        SwapiFilm mockResponse = new SwapiFilm();
-        mockResponse.setResults(null);
-
-        String expectedUrl = BASE_URL + FILMS_ENDPOINT;
-        when(restTemplate.getForObject(expectedUrl, SwapiFilm.class)).thenReturn(mockResponse);
+        stubServer.respond("/api/films/", "{\"count\": 0, \"next\": null, \"results\": null}");
 
         List<Film> result = swapiClient.fetchAllFilms();
 
@@ -89,15 +136,205 @@ class SwapiClientTest {
     }
 
     @Test
-    @DisplayName("Deve retornar lista vazia quando ocorrer RestClientException")
-    void shouldReturnEmptyListWhenRestClientExceptionOccurs() {
-        String expectedUrl = BASE_URL + FILMS_ENDPOINT;
-        when(restTemplate.getForObject(expectedUrl, SwapiFilm.class))
-                .thenThrow(new RestClientException("Connection failed"));
+    @DisplayName("Deve lançar exceção, depois das novas tentativas, quando a SWAPI falhar")
+    void shouldThrowWhenSwapiFails() {
+        stubServer.respond("/api/films/", 500, "{\"detail\": \"Internal error\"}");
+
+        assertThrows(SwapiIntegrationException.class, () -> swapiClient.fetchAllFilms());
+        assertEquals(3, stubServer.hits("/api/films/"));
+    }
+
+    @Test
+    @DisplayName("Deve abrir o circuito e recusar chamadas sem ir à SWAPI")
+    void shouldOpenCircuitAfterConsecutiveFailures() {
+        stubServer.respond("/api/films/", 503, "{\"detail\": \"Unavailable\"}");
+        SwapiResilience resilience = new SwapiResilience(2, Duration.ofMinutes(1), 64, 0, Duration.ofMillis(10), 0.2, 10);
+        SwapiClient guardedClient = new SwapiClient(
+                new SwapiHttpTransport(HttpClient.newHttpClient(), resilience, Duration.ofSeconds(5), Duration.ofSeconds(10), true,
+                        Duration.ZERO),
+                Jackson2ObjectMapperBuilder.json().build(), stubServer.baseUrl(), FILMS_ENDPOINT, 2, 100,
+                Duration.ofDays(1), Duration.ofSeconds(5));
+
+        assertThrows(SwapiIntegrationException.class, guardedClient::fetchAllFilms);
+        assertThrows(SwapiIntegrationException.class, guardedClient::fetchAllFilms);
+        assertThrows(SwapiUnavailableException.class, guardedClient::fetchAllFilms);
+
+        assertEquals(2, stubServer.hits("/api/films/"));
+        assertEquals("OPEN", guardedClient.getCircuitState());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar com requisições condicionais e devolver só as páginas alteradas")
+    void shouldFetchOnlyChangedPagesWithConditionalRequests() {
+        stubServer.eTags();
+        stubServer.respond("/api/films/", """
+                {"count": 3, "next": "/api/films/?page=2", "results": [
+                  {"title": "A New Hope", "episode_id": 4, "edited": "2014-12-20T19:49:45.256000Z"},
+                  {"title": "The Empire Strikes Back", "episode_id": 5, "edited": "2014-12-15T13:07:53.386000Z"}
+                ]}
+                """);
+        stubServer.respond("/api/films/?page=2", """
+                {"count": 3, "next": null, "results": [
+                  {"title": "Return of the Jedi", "episode_id": 6, "edited": "2014-12-20T09:48:37.462000Z"}
+                ]}
+                """);
+        assertEquals(3, swapiClient.fetchAllFilms().size());
+
+        assertTrue(swapiClient.fetchChangedFilms().isEmpty());
+        assertEquals(2, stubServer.notModifiedResponses());
+
+        stubServer.respond("/api/films/?page=2", """
+                {"count": 3, "next": null, "results": [
+                  {"title": "Return of the Jedi (Special Edition)", "episode_id": 6, "edited": "2015-04-11T09:48:37.462000Z"}
+                ]}
+                """);
+        List<Film> changed = swapiClient.fetchChangedFilms();
+
+        assertEquals(1, changed.size());
+        assertEquals("Return of the Jedi (Special Edition)", changed.get(0).getTitle());
+        assertEquals(3, stubServer.notModifiedResponses());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar páginas idênticas quando a SWAPI não envia validadores")
+    void shouldSkipIdenticalPagesWithoutValidators() {
+        stubServer.respond("/api/films/", """
+                {"count": 1, "next": null, "results": [{"title": "A New Hope", "episode_id": 4}]}
+                """);
+        swapiClient.fetchAllFilms();
+
+        assertTrue(swapiClient.fetchChangedFilms().isEmpty());
+        assertEquals(2, stubServer.hits("/api/films/"));
+    }
+
+    @Test
+    @DisplayName("Deve juntar cargas simultâneas do catálogo numa só chamada à SWAPI")
+    void shouldCoalesceConcurrentCatalogFetches() throws Exception {
+        stubServer.delay(200).respond("/api/films/", """
+                {"count": 1, "next": null, "results": [{"title": "A New Hope", "episode_id": 4}]}
+                """);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Film>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(callers.submit(swapiClient::fetchAllFilms));
+            }
+            for (Future<List<Film>> result : results) {
+                assertEquals("A New Hope", result.get().get(0).getTitle());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, stubServer.hits("/api/films/"));
+    }
+
+    @Test
+    @DisplayName("Deve resolver recursos vinculados sem duplicar requisições e respeitando o limite em voo")
+    void shouldResolveLinkedResourcesConcurrently() {
+        String base = stubServer.baseUrl();
+        for (int id = 1; id <= 4; id++) {
+            stubServer.respond("/api/people/" + id + "/",
+                    "{\"name\": \"Person " + id + "\", \"url\": \"" + base + "/people/" + id + "/\"}");
+        }
+        stubServer.respond("/api/planets/1/", "{\"name\": \"Tatooine\", \"url\": \"" + base + "/planets/1/\"}");
+        stubServer.delay(50);
+
+        Film first = new Film("A New Hope", 4, "...");
+        first.setCharacters(List.of(base + "/people/1/", base + "/people/2/", base + "/people/3/"));
+        first.setPlanets(List.of(base + "/planets/1/"));
+        Film second = new Film("The Empire Strikes Back", 5, "...");
+        second.setCharacters(List.of(base + "/people/1/", base + "/people/4/", base + "/people/99/"));
+        second.setPlanets(List.of(base + "/planets/1/"));
+
+        Map<String, SwapiResource> resources = swapiClient.prefetchLinkedResources(List.of(first, second)).join();
+
+        assertEquals(5, resources.size());
+        assertEquals("Tatooine", resources.get(base + "/planets/1/").getName());
+        assertFalse(resources.containsKey(base + "/people/99/"));
+        assertEquals(1, stubServer.hits("/api/people/1/"));
+        assertEquals(1, stubServer.hits("/api/planets/1/"));
+        assertTrue(stubServer.maxConcurrentRequests() <= 2);
+    }
+
+    @Test
+    @DisplayName("Deve servir recursos do cache e compartilhar buscas simultâneas da mesma URL")
+    void shouldCacheAndDeduplicateResourceFetches() throws Exception {
+        String base = stubServer.baseUrl();
+        stubServer.respond("/api/people/1/", "{\"name\": \"Luke Skywalker\", \"url\": \"" + base + "/people/1/\"}");
+        stubServer.respond("/api/planets/1/", "{\"name\": \"Tatooine\", \"url\": \"" + base + "/planets/1/\"}");
+        stubServer.delay(100);
+        List<String> urls = List.of(base + "/people/1/", base + "/planets/1/");
+        assertTrue(swapiClient.getCachedResources(urls).isEmpty());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Map<String, SwapiResource>>> requests = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                requests.add(executor.submit(() -> swapiClient.resolveResources(urls)));
+            }
+            for (Future<Map<String, SwapiResource>> request : requests) {
+                assertEquals("Luke Skywalker", request.get().get(base + "/people/1/").getName());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Map<String, SwapiResource> cached = swapiClient.resolveResources(urls);
+
+        assertEquals("Tatooine", cached.get(base + "/planets/1/").getName());
+        assertEquals(cached, swapiClient.getCachedResources(urls));
+        assertEquals(1, stubServer.hits("/api/people/1/"));
+        assertEquals(1, stubServer.hits("/api/planets/1/"));
+    }
+
+    @Test
+    @DisplayName("Deve devolver só os recursos que chegaram dentro do tempo limite")
+    void shouldReturnPartialResultOnExpandTimeout() {
+        String base = stubServer.baseUrl();
+        stubServer.respond("/api/people/1/", "{\"name\": \"Luke Skywalker\", \"url\": \"" + base + "/people/1/\"}");
+        stubServer.delay(500);
+        SwapiClient impatientClient = new SwapiClient(transport(Duration.ofSeconds(5)),
+                Jackson2ObjectMapperBuilder.json().build(), stubServer.baseUrl(), FILMS_ENDPOINT, 2, 100,
+                Duration.ofDays(1), Duration.ofMillis(50));
+
+        Map<String, SwapiResource> resources = impatientClient.resolveResources(List.of(base + "/people/1/"));
+
+        assertTrue(resources.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve pedir e descompactar respostas gzip")
+    void shouldDecodeGzipResponses() {
+        stubServer.gzip().respond("/api/films/", """
+                {"count": 1, "next": null, "results": [{"title": "A New Hope", "episode_id": 4}]}
+                """);
 
         List<Film> result = swapiClient.fetchAllFilms();
 
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertEquals(1, result.size());
+        assertEquals("A New Hope", result.get(0).getTitle());
+        assertEquals(1, stubServer.gzippedResponses());
+    }
+
+    @Test
+    @DisplayName("Deve desistir da SWAPI quando a resposta passa do tempo limite")
+    void shouldGiveUpOnSlowResponse() {
+        stubServer.delay(2_000).respond("/api/films/", """
+                {"count": 1, "next": null, "results": [{"title": "A New Hope", "episode_id": 4}]}
+                """);
+        SwapiClient impatientClient = new SwapiClient(transport(Duration.ofMillis(100)),
+                Jackson2ObjectMapperBuilder.json().build(), stubServer.baseUrl(), FILMS_ENDPOINT, 2, 100,
+                Duration.ofDays(1), Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        assertThrows(SwapiIntegrationException.class, impatientClient::fetchAllFilms);
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    private static SwapiHttpTransport transport(Duration readTimeout) {
+        SwapiResilience resilience = new SwapiResilience(5, Duration.ofSeconds(30), 64, 2, Duration.ofMillis(10), 0.2, 10);
+        return new SwapiHttpTransport(HttpClient.newHttpClient(), resilience, readTimeout, readTimeout.multipliedBy(2), true,
+                Duration.ZERO);
     }
-}
\ No newline at end of file
+}